@@ -0,0 +1,18 @@
+package pl.mifi.account.api.endpoint;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pl.mifi.account.infrastruture.ClassificationCacheStats;
+import pl.mifi.account.infrastruture.TitleCategoryClassifier;
+
+@RestController
+@RequestMapping("/metrics/classification")
+public class ClassificationMetricsController {
+
+    @GetMapping("/cache")
+    public ResponseEntity<ClassificationCacheStats> getCacheStats() {
+        return ResponseEntity.ok(TitleCategoryClassifier.cacheStats());
+    }
+}
@@ -0,0 +1,59 @@
+package pl.mifi.account.api.endpoint;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pl.mifi.account.application.classification.*;
+import pl.mifi.account.domain.ClassificationRule;
+import pl.mifi.cqrs.Mediator;
+
+import java.net.URI;
+import java.util.List;
+
+/** Reguły klasyfikacji tytułów; każda zmiana od razu podmienia reguły używane przy imporcie. */
+@RestController
+@RequestMapping("/classification/rules")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ClassificationRuleController {
+
+    private final Mediator mediator;
+
+    public ClassificationRuleController(Mediator mediator) {
+        this.mediator = mediator;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ClassificationRule>> getRules() {
+        List<ClassificationRule> rules = mediator.get(new GetClassificationRulesQuery());
+        return ResponseEntity.ok(rules);
+    }
+
+    @PostMapping
+    public ResponseEntity<Void> createRule(@RequestBody CreateClassificationRuleCommand command) {
+        mediator.send(command);
+        return ResponseEntity.created(URI.create("/classification/rules")).build();
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> updateRule(@PathVariable Long id, @RequestBody UpdateClassificationRuleCommand body) {
+        mediator.send(new UpdateClassificationRuleCommand(id, body.pattern(), body.category(), body.priority(), body.enabled()));
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        mediator.send(new DeleteClassificationRuleCommand(id));
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<Void> reloadRules() {
+        mediator.send(new ReloadClassificationRulesCommand());
+        return ResponseEntity.noContent().build();
+    }
+
+    // także PatternSyntaxException – błędny regex
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> invalidRule(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
@@ -0,0 +1,24 @@
+package pl.mifi.account.api.endpoint;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pl.mifi.account.infrastruture.FingerprintFilterStatus;
+import pl.mifi.account.infrastruture.TransactionFingerprints;
+
+@RestController
+@RequestMapping("/metrics/import")
+public class ImportMetricsController {
+
+    private final TransactionFingerprints fingerprints;
+
+    public ImportMetricsController(TransactionFingerprints fingerprints) {
+        this.fingerprints = fingerprints;
+    }
+
+    @GetMapping("/fingerprint-filter")
+    public ResponseEntity<FingerprintFilterStatus> getFingerprintFilter() {
+        return ResponseEntity.ok(fingerprints.status());
+    }
+}
@@ -0,0 +1,49 @@
+package pl.mifi.account.api.endpoint;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pl.mifi.account.application.classification.CancelReclassificationCommand;
+import pl.mifi.account.application.classification.GetReclassificationProgressQuery;
+import pl.mifi.account.application.classification.StartReclassificationCommand;
+import pl.mifi.account.application.classification.response.ReclassificationProgress;
+import pl.mifi.cqrs.Mediator;
+
+/** Przeklasyfikowanie zapisanych transakcji po zmianie reguł; zadanie biegnie w tle. */
+@RestController
+@RequestMapping("/classification/reclassification")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ReclassificationController {
+
+    private final Mediator mediator;
+
+    public ReclassificationController(Mediator mediator) {
+        this.mediator = mediator;
+    }
+
+    @PostMapping
+    public ResponseEntity<ReclassificationProgress> start(@RequestParam(defaultValue = "0") int maxRowsPerSecond) {
+        mediator.send(new StartReclassificationCommand(maxRowsPerSecond));
+        return ResponseEntity.accepted().body(progress());
+    }
+
+    @GetMapping
+    public ResponseEntity<ReclassificationProgress> getProgress() {
+        return ResponseEntity.ok(progress());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ReclassificationProgress> cancel() {
+        mediator.send(new CancelReclassificationCommand());
+        return ResponseEntity.ok(progress());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> alreadyRunning(IllegalStateException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    private ReclassificationProgress progress() {
+        return mediator.get(new GetReclassificationProgressQuery());
+    }
+}
@@ -1,15 +1,34 @@
 package pl.mifi.account.api.endpoint;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pl.mifi.account.application.transaction.CreateTransactionCommand;
+import pl.mifi.account.application.transaction.ExportFormat;
+import pl.mifi.account.application.transaction.ExportTransactionsQuery;
 import pl.mifi.account.application.transaction.GetAllTransactionQuery;
+import pl.mifi.account.application.transaction.UploadStatementCommand;
 import pl.mifi.account.application.transaction.response.CreateTransactionResponse;
-import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.application.transaction.response.ImportSummary;
+import pl.mifi.account.application.transaction.response.TransactionExport;
+import pl.mifi.account.application.transaction.response.TransactionPage;
+import pl.mifi.account.domain.Bank;
+import pl.mifi.account.domain.TransactionFilter;
 import pl.mifi.cqrs.Mediator;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/transactions")
@@ -22,9 +41,51 @@ public class TransactionController {
         this.mediator = mediator;
     }
 
+    /**
+     * Strona transakcji od najnowszych; kolejną zwraca wywołanie z tymi samymi filtrami
+     * i {@code cursor} = {@code next} poprzedniej. Daty {@code yyyy-MM-dd} włącznie, kwoty ze znakiem.
+     */
     @GetMapping
-    public ResponseEntity<List<Transaction>> getTransactions() {
-        return ResponseEntity.ok(mediator.get(new GetAllTransactionQuery()));
+    public CompletableFuture<ResponseEntity<TransactionPage>> getTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Bank bank,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(defaultValue = "" + GetAllTransactionQuery.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
+        TransactionFilter filter = new TransactionFilter(from, to, category, bank, type, minAmount, maxAmount);
+        return mediator.<TransactionPage, GetAllTransactionQuery>getAsync(new GetAllTransactionQuery(filter, limit, cursor))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Wszystkie transakcje pasujące do filtrów (tych samych co w GET /transactions) jako NDJSON albo CSV.
+     * Wiersze płyną z kursora bazy prosto do odpowiedzi, więc pamięć nie rośnie z liczbą wierszy,
+     * a klient dostaje pierwsze bajty od razu.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Bank bank,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        TransactionFilter filter = new TransactionFilter(from, to, category, bank, type, minAmount, maxAmount);
+        TransactionExport export = mediator.get(new ExportTransactionsQuery(filter, exportFormat));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(export::writeTo);
     }
 
     @PostMapping
@@ -32,4 +93,40 @@ public class TransactionController {
         mediator.send(createTransactionCommand);
         return ResponseEntity.created(URI.create("/transactions")).build();
     }
-}
\ No newline at end of file
+
+    @PostMapping("/batch")
+    public ResponseEntity<CreateTransactionResponse> createTransactions(@RequestBody List<CreateTransactionCommand> commands) {
+        mediator.sendAll(commands);
+        return ResponseEntity.created(URI.create("/transactions")).build();
+    }
+
+    /**
+     * Wyciąg jako multipart (pole "file"). Spring trzyma część na dysku, nie na stercie;
+     * import biegnie na wątku mediatora, więc wątek żądania nie czeka na bazę.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ResponseEntity<ImportSummary>> importStatement(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        return upload(file.getOriginalFilename(), file.getInputStream());
+    }
+
+    /** Wyciąg jako surowe body; nazwa pliku (po niej rozpoznawany jest bank) w parametrze. */
+    @PostMapping(path = "/import", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public CompletableFuture<ResponseEntity<ImportSummary>> importStatement(@RequestParam String fileName,
+                                                                            HttpServletRequest request)
+            throws IOException {
+        return upload(fileName, request.getInputStream());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> unsupportedStatement(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    private CompletableFuture<ResponseEntity<ImportSummary>> upload(String fileName, InputStream content) {
+        UploadStatementCommand command = new UploadStatementCommand(fileName == null ? "" : fileName, content);
+        return mediator.sendAsync(command)
+                .thenCompose(done -> command.result())
+                .thenApply(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,6 @@
+package pl.mifi.account.application.classification;
+
+import pl.mifi.cqrs.Command;
+
+public record CancelReclassificationCommand() implements Command {
+}
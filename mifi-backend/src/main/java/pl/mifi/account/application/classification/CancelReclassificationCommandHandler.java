@@ -0,0 +1,19 @@
+package pl.mifi.account.application.classification;
+
+import org.springframework.stereotype.Component;
+import pl.mifi.cqrs.CommandHandler;
+
+@Component
+public class CancelReclassificationCommandHandler implements CommandHandler<CancelReclassificationCommand> {
+
+    private final ReclassificationJob job;
+
+    public CancelReclassificationCommandHandler(ReclassificationJob job) {
+        this.job = job;
+    }
+
+    @Override
+    public void handle(CancelReclassificationCommand command) {
+        job.cancel();
+    }
+}
@@ -0,0 +1,10 @@
+package pl.mifi.account.application.classification;
+
+import pl.mifi.account.domain.TransactionCategory;
+import pl.mifi.cqrs.Command;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
+
+@InvalidatesQueries(GetClassificationRulesQuery.class)
+public record CreateClassificationRuleCommand(String pattern, TransactionCategory category, int priority,
+                                              boolean enabled) implements Command {
+}
@@ -0,0 +1,30 @@
+package pl.mifi.account.application.classification;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mifi.account.domain.ClassificationRule;
+import pl.mifi.account.infrastruture.ClassificationRuleRepository;
+import pl.mifi.account.infrastruture.ClassificationRules;
+import pl.mifi.cqrs.CommandHandler;
+
+import java.util.regex.Pattern;
+
+@Component
+public class CreateClassificationRuleCommandHandler implements CommandHandler<CreateClassificationRuleCommand> {
+
+    private final ClassificationRuleRepository repository;
+    private final ClassificationRules rules;
+
+    public CreateClassificationRuleCommandHandler(ClassificationRuleRepository repository, ClassificationRules rules) {
+        this.repository = repository;
+        this.rules = rules;
+    }
+
+    @Override
+    @Transactional
+    public void handle(CreateClassificationRuleCommand command) {
+        Pattern.compile(command.pattern()); // błędny regex -> PatternSyntaxException (400), nic nie trafia do bazy
+        repository.save(new ClassificationRule(command.pattern(), command.category(), command.priority(), command.enabled()));
+        rules.reloadAfterCommit();
+    }
+}
@@ -0,0 +1,8 @@
+package pl.mifi.account.application.classification;
+
+import pl.mifi.cqrs.Command;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
+
+@InvalidatesQueries(GetClassificationRulesQuery.class)
+public record DeleteClassificationRuleCommand(Long id) implements Command {
+}
@@ -0,0 +1,29 @@
+package pl.mifi.account.application.classification;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mifi.account.infrastruture.ClassificationRuleRepository;
+import pl.mifi.account.infrastruture.ClassificationRules;
+import pl.mifi.cqrs.CommandHandler;
+
+@Component
+public class DeleteClassificationRuleCommandHandler implements CommandHandler<DeleteClassificationRuleCommand> {
+
+    private final ClassificationRuleRepository repository;
+    private final ClassificationRules rules;
+
+    public DeleteClassificationRuleCommandHandler(ClassificationRuleRepository repository, ClassificationRules rules) {
+        this.repository = repository;
+        this.rules = rules;
+    }
+
+    @Override
+    @Transactional
+    public void handle(DeleteClassificationRuleCommand command) {
+        if (!repository.existsById(command.id())) {
+            throw new IllegalArgumentException("Classification rule not found: " + command.id());
+        }
+        repository.deleteById(command.id());
+        rules.reloadAfterCommit();
+    }
+}
@@ -0,0 +1,8 @@
+package pl.mifi.account.application.classification;
+
+import pl.mifi.cqrs.Query;
+import pl.mifi.cqrs.annotations.CachedQuery;
+
+@CachedQuery
+public record GetClassificationRulesQuery() implements Query {
+}
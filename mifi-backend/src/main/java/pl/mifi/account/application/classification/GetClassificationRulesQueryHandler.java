@@ -0,0 +1,24 @@
+package pl.mifi.account.application.classification;
+
+import org.springframework.stereotype.Component;
+import pl.mifi.account.domain.ClassificationRule;
+import pl.mifi.account.infrastruture.ClassificationRuleRepository;
+import pl.mifi.cqrs.QueryHandler;
+
+import java.util.List;
+
+/** Wszystkie reguły (także wyłączone) w kolejności sprawdzania. */
+@Component
+public class GetClassificationRulesQueryHandler implements QueryHandler<GetClassificationRulesQuery, List<ClassificationRule>> {
+
+    private final ClassificationRuleRepository repository;
+
+    public GetClassificationRulesQueryHandler(ClassificationRuleRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<ClassificationRule> handle(GetClassificationRulesQuery query) {
+        return repository.findAllByOrderByPriorityAscIdAsc();
+    }
+}
@@ -0,0 +1,6 @@
+package pl.mifi.account.application.classification;
+
+import pl.mifi.cqrs.Query;
+
+public record GetReclassificationProgressQuery() implements Query {
+}
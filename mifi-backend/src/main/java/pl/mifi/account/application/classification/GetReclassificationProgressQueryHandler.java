@@ -0,0 +1,21 @@
+package pl.mifi.account.application.classification;
+
+import org.springframework.stereotype.Component;
+import pl.mifi.account.application.classification.response.ReclassificationProgress;
+import pl.mifi.cqrs.QueryHandler;
+
+@Component
+public class GetReclassificationProgressQueryHandler
+        implements QueryHandler<GetReclassificationProgressQuery, ReclassificationProgress> {
+
+    private final ReclassificationJob job;
+
+    public GetReclassificationProgressQueryHandler(ReclassificationJob job) {
+        this.job = job;
+    }
+
+    @Override
+    public ReclassificationProgress handle(GetReclassificationProgressQuery query) {
+        return job.progress();
+    }
+}
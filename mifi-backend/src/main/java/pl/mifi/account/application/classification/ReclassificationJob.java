@@ -0,0 +1,193 @@
+package pl.mifi.account.application.classification;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import pl.mifi.account.application.classification.response.ReclassificationProgress;
+import pl.mifi.account.application.classification.response.ReclassificationProgress.Status;
+import pl.mifi.account.infrastruture.TitleCategoryClassifier;
+import pl.mifi.account.infrastruture.TransactionCategoryWriter.CategoryChange;
+import pl.mifi.account.infrastruture.TransactionRepository;
+import pl.mifi.account.infrastruture.TransactionTitle;
+import pl.mifi.cqrs.Mediator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Przeklasyfikowanie zapisanych transakcji bieżącymi regułami, w tle.
+ *
+ * Tabela czytana jest paczkami po id (keyset, bez OFFSET); następna paczka czyta się, gdy bieżąca
+ * jest klasyfikowana na puli fork-join i zapisywana. Zapisywane są tylko wiersze, których kategoria
+ * faktycznie się zmieniła – batchem JDBC, jedną transakcją na paczkę. Opcjonalny limit wierszy na
+ * sekundę pozwala puścić zadanie na żywej bazie. Naraz biegnie co najwyżej jedno zadanie.
+ *
+ * Anulowanie tylko ustawia flagę sprawdzaną między paczkami – wątek nie jest przerywany, więc
+ * zapis paczki w toku zawsze kończy się commitem. Błąd kończy zadanie stanem FAILED z komunikatem.
+ *
+ * Mediator pobierany jest leniwie: handlery start/stop/postęp wstrzykują to zadanie, a rejestr
+ * handlerów wszystkie handlery – bezpośrednia zależność od Mediatora zamknęłaby cykl.
+ */
+@Component
+public class ReclassificationJob {
+
+    private static final int SLICE = 256;
+    // najdłuższa drzemka throttle bez sprawdzenia flagi anulowania
+    private static final long THROTTLE_STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectProvider<Mediator> mediator;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final ExecutorService reader = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("reclassification-read").factory());
+    private final AtomicReference<Run> current = new AtomicReference<>();
+
+    public ReclassificationJob(TransactionRepository transactionRepository,
+                               ObjectProvider<Mediator> mediator,
+                               @Value("${mifi.reclassify.chunk-size:5000}") int chunkSize,
+                               @Value("${mifi.reclassify.parallelism:0}") int parallelism) {
+        this.transactionRepository = transactionRepository;
+        this.mediator = mediator;
+        this.chunkSize = chunkSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cancel();
+        pool.shutdownNow();
+        reader.shutdownNow();
+    }
+
+    /** Startuje zadanie; {@code maxRowsPerSecond <= 0} – bez limitu. */
+    public ReclassificationProgress start(int maxRowsPerSecond) {
+        Run previous = current.get();
+        if (previous != null && previous.status == Status.RUNNING) {
+            throw new IllegalStateException("Reclassification already running");
+        }
+        Run run = new Run(transactionRepository.count(), maxRowsPerSecond);
+        if (!current.compareAndSet(previous, run)) {
+            throw new IllegalStateException("Reclassification already running");
+        }
+        Thread.ofPlatform().name("reclassification").daemon().start(() -> execute(run));
+        return run.progress();
+    }
+
+    /** Zatrzymuje bieżące zadanie po bieżącej paczce; zapisane paczki zostają. */
+    public boolean cancel() {
+        Run run = current.get();
+        if (run == null || run.status != Status.RUNNING) return false;
+        run.cancelled = true;
+        return true;
+    }
+
+    public ReclassificationProgress progress() {
+        Run run = current.get();
+        return run == null ? ReclassificationProgress.idle() : run.progress();
+    }
+
+    private void execute(Run run) {
+        try {
+            Future<List<TransactionTitle>> next = read(0L);
+            while (!run.cancelled) {
+                List<TransactionTitle> chunk = next.get();
+                if (chunk.isEmpty()) break;
+                next = read(chunk.get(chunk.size() - 1).id());
+
+                List<CategoryChange> changes = changedCategories(chunk);
+                if (!changes.isEmpty()) mediator.getObject().send(new UpdateTransactionCategoriesCommand(changes));
+                run.scanned.add(chunk.size());
+                run.updated.add(changes.size());
+                run.throttle();
+            }
+            run.finish(run.cancelled ? Status.CANCELLED : Status.COMPLETED, null);
+        } catch (InterruptedException e) {
+            // tylko przy zamykaniu puli/kontekstu
+            run.finish(Status.CANCELLED, null);
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            // powód trafia do GetReclassificationProgressQuery
+            run.finish(Status.FAILED, cause.getMessage() != null ? cause.getMessage() : cause.toString());
+        }
+    }
+
+    private Future<List<TransactionTitle>> read(long afterId) {
+        return reader.submit(() -> transactionRepository.findRuleCategorizedTitlesAfter(afterId, Limit.of(chunkSize)));
+    }
+
+    private List<CategoryChange> changedCategories(List<TransactionTitle> chunk)
+            throws InterruptedException, ExecutionException {
+        // paczka w kawałkach po SLICE wierszy, każdy kawałek klasyfikowany po kolei na wątku puli
+        String[] categories = new String[chunk.size()];
+        List<Callable<Void>> slices = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += SLICE) {
+            int start = from;
+            int end = Math.min(from + SLICE, chunk.size());
+            slices.add(() -> {
+                for (int i = start; i < end; i++) {
+                    categories[i] = TitleCategoryClassifier.classify(chunk.get(i).title()).name();
+                }
+                return null;
+            });
+        }
+        for (Future<Void> slice : pool.invokeAll(slices)) slice.get();
+
+        List<CategoryChange> changes = new ArrayList<>();
+        for (int i = 0; i < categories.length; i++) {
+            TransactionTitle row = chunk.get(i);
+            if (!Objects.equals(row.category(), categories[i])) changes.add(new CategoryChange(row.id(), categories[i]));
+        }
+        return changes;
+    }
+
+    private static final class Run {
+        final long total;
+        final int maxRowsPerSecond;
+        final Instant startedAt = Instant.now();
+        final long startNanos = System.nanoTime();
+        final LongAdder scanned = new LongAdder();
+        final LongAdder updated = new LongAdder();
+        volatile boolean cancelled;
+        volatile Status status = Status.RUNNING;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Run(long total, int maxRowsPerSecond) {
+            this.total = total;
+            this.maxRowsPerSecond = maxRowsPerSecond;
+        }
+
+        /** Czeka, aż średnie tempo od startu spadnie do limitu – albo do anulowania. */
+        void throttle() throws InterruptedException {
+            if (maxRowsPerSecond <= 0) return;
+            long due = startNanos + scanned.sum() * 1_000_000_000L / maxRowsPerSecond;
+            long wait;
+            while (!cancelled && (wait = due - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(wait, THROTTLE_STEP_NANOS));
+            }
+        }
+
+        void finish(Status status, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        ReclassificationProgress progress() {
+            long rows = scanned.sum();
+            Instant end = finishedAt;
+            long nanos = end == null ? System.nanoTime() - startNanos : Duration.between(startedAt, end).toNanos();
+            double rate = nanos <= 0 ? 0.0 : rows * 1e9 / nanos;
+            return new ReclassificationProgress(status, total, rows, updated.sum(), rate, startedAt, end, error);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package pl.mifi.account.application.classification;
+
+import pl.mifi.cqrs.Command;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
+
+/** Ponowne wczytanie reguł, np. po zmianach wprowadzonych bezpośrednio w bazie. */
+@InvalidatesQueries(GetClassificationRulesQuery.class)
+public record ReloadClassificationRulesCommand() implements Command {
+}
@@ -0,0 +1,20 @@
+package pl.mifi.account.application.classification;
+
+import org.springframework.stereotype.Component;
+import pl.mifi.account.infrastruture.ClassificationRules;
+import pl.mifi.cqrs.CommandHandler;
+
+@Component
+public class ReloadClassificationRulesCommandHandler implements CommandHandler<ReloadClassificationRulesCommand> {
+
+    private final ClassificationRules rules;
+
+    public ReloadClassificationRulesCommandHandler(ClassificationRules rules) {
+        this.rules = rules;
+    }
+
+    @Override
+    public void handle(ReloadClassificationRulesCommand command) {
+        rules.reload();
+    }
+}
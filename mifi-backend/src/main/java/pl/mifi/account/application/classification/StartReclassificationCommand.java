@@ -0,0 +1,7 @@
+package pl.mifi.account.application.classification;
+
+import pl.mifi.cqrs.Command;
+
+/** {@code maxRowsPerSecond <= 0} – bez limitu. */
+public record StartReclassificationCommand(int maxRowsPerSecond) implements Command {
+}
@@ -0,0 +1,19 @@
+package pl.mifi.account.application.classification;
+
+import org.springframework.stereotype.Component;
+import pl.mifi.cqrs.CommandHandler;
+
+@Component
+public class StartReclassificationCommandHandler implements CommandHandler<StartReclassificationCommand> {
+
+    private final ReclassificationJob job;
+
+    public StartReclassificationCommandHandler(ReclassificationJob job) {
+        this.job = job;
+    }
+
+    @Override
+    public void handle(StartReclassificationCommand command) {
+        job.start(command.maxRowsPerSecond());
+    }
+}
@@ -0,0 +1,33 @@
+package pl.mifi.account.application.classification;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mifi.account.domain.ClassificationRule;
+import pl.mifi.account.infrastruture.ClassificationRuleRepository;
+import pl.mifi.account.infrastruture.ClassificationRules;
+import pl.mifi.cqrs.CommandHandler;
+
+import java.util.regex.Pattern;
+
+@Component
+public class UpdateClassificationRuleCommandHandler implements CommandHandler<UpdateClassificationRuleCommand> {
+
+    private final ClassificationRuleRepository repository;
+    private final ClassificationRules rules;
+
+    public UpdateClassificationRuleCommandHandler(ClassificationRuleRepository repository, ClassificationRules rules) {
+        this.repository = repository;
+        this.rules = rules;
+    }
+
+    @Override
+    @Transactional
+    public void handle(UpdateClassificationRuleCommand command) {
+        Pattern.compile(command.pattern());
+        ClassificationRule rule = repository.findById(command.id())
+                .orElseThrow(() -> new IllegalArgumentException("Classification rule not found: " + command.id()));
+        rule.update(command.pattern(), command.category(), command.priority(), command.enabled());
+        repository.save(rule);
+        rules.reloadAfterCommit();
+    }
+}
@@ -0,0 +1,13 @@
+package pl.mifi.account.application.classification;
+
+import pl.mifi.account.application.transaction.GetAllTransactionQuery;
+import pl.mifi.account.infrastruture.TransactionCategoryWriter.CategoryChange;
+import pl.mifi.cqrs.Command;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
+
+import java.util.List;
+
+/** Paczka nowych kategorii z przeklasyfikowania; po commicie lista transakcji w cache jest nieaktualna. */
+@InvalidatesQueries(GetAllTransactionQuery.class)
+public record UpdateTransactionCategoriesCommand(List<CategoryChange> changes) implements Command {
+}
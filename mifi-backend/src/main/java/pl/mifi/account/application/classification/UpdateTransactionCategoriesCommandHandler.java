@@ -0,0 +1,22 @@
+package pl.mifi.account.application.classification;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mifi.account.infrastruture.TransactionCategoryWriter;
+import pl.mifi.cqrs.CommandHandler;
+
+@Component
+@Transactional
+public class UpdateTransactionCategoriesCommandHandler implements CommandHandler<UpdateTransactionCategoriesCommand> {
+
+    private final TransactionCategoryWriter writer;
+
+    public UpdateTransactionCategoriesCommandHandler(TransactionCategoryWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void handle(UpdateTransactionCategoriesCommand command) {
+        writer.update(command.changes());
+    }
+}
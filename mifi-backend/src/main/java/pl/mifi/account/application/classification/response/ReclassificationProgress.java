@@ -0,0 +1,21 @@
+package pl.mifi.account.application.classification.response;
+
+import java.time.Instant;
+
+public record ReclassificationProgress(Status status,
+                                       long total,
+                                       long scanned,
+                                       long updated,
+                                       double rowsPerSecond,
+                                       Instant startedAt,
+                                       Instant finishedAt,
+                                       String error) {
+
+    public enum Status {
+        IDLE, RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    public static ReclassificationProgress idle() {
+        return new ReclassificationProgress(Status.IDLE, 0, 0, 0, 0.0, null, null, null);
+    }
+}
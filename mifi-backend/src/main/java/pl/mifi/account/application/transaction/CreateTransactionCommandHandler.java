@@ -1,21 +1,44 @@
 package pl.mifi.account.application.transaction;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import pl.mifi.account.application.transaction.response.CreateTransactionResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mifi.account.domain.CategorySource;
 import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.ClassificationHistory;
+import pl.mifi.account.infrastruture.TitleCategoryClassifier;
+import pl.mifi.account.infrastruture.TransactionFingerprint;
+import pl.mifi.account.infrastruture.TransactionFingerprints;
 import pl.mifi.account.infrastruture.TransactionRepository;
-import pl.mifi.cqrs.CommandHandler;
+import pl.mifi.cqrs.BatchCommandHandler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 @Transactional
-public class CreateTransactionCommandHandler implements CommandHandler<CreateTransactionCommand> {
+public class CreateTransactionCommandHandler implements BatchCommandHandler<CreateTransactionCommand> {
 
     private final TransactionRepository transactionRepository;
+    private final TransactionFingerprints fingerprints;
+    private final EntityManager entityManager;
+    private final int batchSize;
 
-    public CreateTransactionCommandHandler(TransactionRepository transactionRepository) {
+    public CreateTransactionCommandHandler(TransactionRepository transactionRepository,
+                                           TransactionFingerprints fingerprints,
+                                           EntityManager entityManager,
+                                           @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
         this.transactionRepository = transactionRepository;
+        this.fingerprints = fingerprints;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
     }
 
     @PostConstruct
@@ -27,8 +50,67 @@ public class CreateTransactionCommandHandler implements CommandHandler<CreateTra
         return transactionRepository;
     }
 
+    /** Transakcja o tym samym odcisku już jest – ponowne wysłanie niczego nie zmienia. */
     @Override
     public void handle(CreateTransactionCommand command) {
+        Transaction transaction = toTransaction(command);
+        if (!fingerprints.existing(List.of(transaction.getFingerprint())).isEmpty()) return;
+        transactionRepository.save(transaction);
+        fingerprints.added(transaction.getFingerprint());
+        learnAfterCommit(List.of(transaction));
+    }
+
+    /**
+     * Cała paczka w jednej transakcji; co {@code batchSize} wierszy flush (jeden batch JDBC)
+     * i odpięcie zapisanych właśnie encji, żeby persistence context nie puchł przy dziesiątkach tysięcy.
+     * Bez {@code clear()} – transakcję {@code sendAll} dzielą handlery innych komend, a ich encje
+     * muszą zostać zarządzane. Wiersze, które już są w bazie (albo powtarzają się w paczce), są pomijane.
+     */
+    @Override
+    public void handleAll(List<CreateTransactionCommand> commands) {
+        List<Transaction> inserted = new ArrayList<>();
+        for (int from = 0; from < commands.size(); from += batchSize) {
+            Map<UUID, Transaction> fresh = new LinkedHashMap<>();
+            for (CreateTransactionCommand command : commands.subList(from, Math.min(from + batchSize, commands.size()))) {
+                Transaction transaction = toTransaction(command);
+                fresh.putIfAbsent(transaction.getFingerprint(), transaction);
+            }
+            fresh.keySet().removeAll(fingerprints.existing(fresh.keySet()));
+            fresh.values().forEach(entityManager::persist);
+            entityManager.flush();
+            fresh.values().forEach(entityManager::detach);
+            fresh.keySet().forEach(fingerprints::added);
+            inserted.addAll(fresh.values());
+        }
+        learnAfterCommit(inserted);
+    }
+
+    /**
+     * Kategoria podana ręcznie to poprawka dla podpowiedzi klasyfikatora – uczona tylko z wierszy
+     * faktycznie zapisanych i dopiero po commicie: odrzucona komenda, duplikat ani wycofana
+     * transakcja nie zmieniają historii.
+     */
+    private static void learnAfterCommit(List<Transaction> inserted) {
+        if (inserted.isEmpty()) return;
+        Runnable learn = () -> inserted.forEach(t ->
+                TitleCategoryClassifier.learnCorrection(t.getTitle(), ClassificationHistory.categoryOf(t.getCategory())));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    learn.run();
+                }
+            });
+        } else {
+            learn.run();
+        }
+    }
+
+    private static Transaction toTransaction(CreateTransactionCommand command) {
+        // bez daty i kwoty transakcja nie ma miejsca na liście (klucz stronicowania)
+        if (command.date() == null || command.amount() == null) {
+            throw new IllegalArgumentException("Transaction date and amount are required");
+        }
         Transaction transaction = new Transaction(
                 command.amount(),
                 command.type(),
@@ -39,7 +121,8 @@ public class CreateTransactionCommandHandler implements CommandHandler<CreateTra
                 command.title(),
                 command.bank()
         );
-        transactionRepository.save(transaction);
-        System.out.println("Creating transaction for: " + command.description());
+        transaction.setCategorySource(command.category() == null ? CategorySource.RULE : CategorySource.MANUAL);
+        transaction.setFingerprint(TransactionFingerprint.of(transaction));
+        return transaction;
     }
 }
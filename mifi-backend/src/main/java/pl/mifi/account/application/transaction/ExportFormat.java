@@ -0,0 +1,33 @@
+package pl.mifi.account.application.transaction;
+
+import java.util.Locale;
+
+/** Format eksportu transakcji: typ treści odpowiedzi i rozszerzenie pliku. */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(name.toLowerCase(Locale.ROOT))) return format;
+        }
+        throw new IllegalArgumentException("Nieznany format eksportu: " + name + " (ndjson albo csv)");
+    }
+}
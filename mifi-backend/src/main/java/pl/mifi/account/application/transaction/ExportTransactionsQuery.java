@@ -0,0 +1,16 @@
+package pl.mifi.account.application.transaction;
+
+import pl.mifi.account.domain.TransactionFilter;
+import pl.mifi.cqrs.Query;
+
+/**
+ * Eksport wszystkich transakcji pasujących do filtra. Bez cache – wynikiem nie są dane,
+ * tylko {@link pl.mifi.account.application.transaction.response.TransactionExport} zapisujący je do strumienia.
+ */
+public record ExportTransactionsQuery(TransactionFilter filter, ExportFormat format) implements Query {
+
+    public ExportTransactionsQuery {
+        if (filter == null) filter = TransactionFilter.NONE;
+        if (format == null) format = ExportFormat.NDJSON;
+    }
+}
@@ -0,0 +1,154 @@
+package pl.mifi.account.application.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.mifi.account.application.transaction.response.TransactionExport;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.TransactionRepository;
+import pl.mifi.cqrs.QueryHandler;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Eksport strumieniowy: kursor bazy czyta po {@link #CHUNK} wierszy, każdy wiersz od razu idzie
+ * do strumienia odpowiedzi, a po każdej paczce odpowiedź jest wypychana do klienta i kontekst
+ * persystencji czyszczony. Na stercie jest najwyżej jedna paczka – niezależnie od liczby wierszy.
+ *
+ * Baza czytana jest dopiero w {@link TransactionExport#writeTo}, we własnej transakcji tylko do odczytu
+ * (bez niej Postgres nie otworzy kursora), bo zapis trwa na wątku asynchronicznym, już po handlerze.
+ */
+@Component
+public class ExportTransactionsQueryHandler implements QueryHandler<ExportTransactionsQuery, TransactionExport> {
+
+    static final int CHUNK = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+
+    public ExportTransactionsQueryHandler(TransactionRepository transactionRepository,
+                                          EntityManager entityManager,
+                                          ObjectMapper objectMapper,
+                                          PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @Override
+    public TransactionExport handle(ExportTransactionsQuery query) {
+        return out -> {
+            try {
+                readOnly.executeWithoutResult(status -> write(query, out));
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // zwykle klient przerwał pobieranie
+            }
+        };
+    }
+
+    private void write(ExportTransactionsQuery query, OutputStream out) {
+        try {
+            RowWriter writer = switch (query.format()) {
+                case NDJSON -> new NdjsonRows(objectMapper, out);
+                case CSV -> new CsvRows(out);
+            };
+            writer.flush(); // nagłówki odpowiedzi (i CSV) idą do klienta, zanim baza zwróci pierwszą paczkę
+
+            try (Stream<Transaction> rows = transactionRepository.stream(query.filter(), CHUNK)) {
+                int inChunk = 0;
+                for (Iterator<Transaction> it = rows.iterator(); it.hasNext(); ) {
+                    writer.write(it.next());
+                    if (++inChunk == CHUNK) {
+                        writer.flush();
+                        entityManager.clear();
+                        inChunk = 0;
+                    }
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface RowWriter extends Flushable {
+        void write(Transaction transaction) throws IOException;
+    }
+
+    /** Jeden obiekt JSON na linię, w tym samym kształcie co elementy GET /transactions. */
+    private static final class NdjsonRows implements RowWriter {
+        private final JsonGenerator json;
+        private final ObjectWriter rowWriter;
+
+        NdjsonRows(ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(out);
+            this.json.setRootValueSeparator(null);
+            // domyślnie Jackson wypycha strumień po każdej wartości – tu dopiero po paczce
+            this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(Transaction transaction) throws IOException {
+            rowWriter.writeValue(json, transaction);
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            json.flush();
+        }
+    }
+
+    private static final class CsvRows implements RowWriter {
+        private static final DateTimeFormatter DATE = DateTimeFormatter.ISO_LOCAL_DATE_TIME.withZone(ZoneId.systemDefault());
+        private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+                .setHeader("id", "date", "amount", "type", "category", "bank", "title", "description", "account")
+                .get();
+
+        private final CSVPrinter csv;
+
+        CsvRows(OutputStream out) throws IOException {
+            this.csv = new CSVPrinter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE), FORMAT);
+        }
+
+        @Override
+        public void write(Transaction t) throws IOException {
+            csv.printRecord(t.getId(),
+                    t.getDate() == null ? null : DATE.format(t.getDate().toInstant()),
+                    t.getAmount() == null ? null : t.getAmount().toPlainString(),
+                    t.getType(),
+                    t.getCategory(),
+                    t.getBank(),
+                    t.getTitle(),
+                    t.getDescription(),
+                    t.getAccount());
+        }
+
+        @Override
+        public void flush() throws IOException {
+            csv.flush();
+        }
+    }
+}
@@ -1,6 +1,27 @@
 package pl.mifi.account.application.transaction;
 
+import pl.mifi.account.domain.TransactionFilter;
 import pl.mifi.cqrs.Query;
+import pl.mifi.cqrs.annotations.CachedQuery;
+import pl.mifi.cqrs.annotations.SingleFlight;
 
-public record GetAllTransactionQuery() implements Query {
+/**
+ * Strona transakcji od najnowszych, zawężona filtrem; {@code cursor} z poprzedniej strony
+ * albo {@code null} dla pierwszej.
+ */
+@CachedQuery(maxSize = 256)
+@SingleFlight
+public record GetAllTransactionQuery(TransactionFilter filter, int limit, String cursor) implements Query {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    public GetAllTransactionQuery {
+        if (filter == null) filter = TransactionFilter.NONE;
+        limit = Math.clamp(limit, 1, MAX_LIMIT);
+    }
+
+    public static GetAllTransactionQuery firstPage() {
+        return new GetAllTransactionQuery(TransactionFilter.NONE, DEFAULT_LIMIT, null);
+    }
 }
@@ -0,0 +1,11 @@
+package pl.mifi.account.application.transaction;
+
+import pl.mifi.cqrs.Command;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
+
+import java.nio.file.Path;
+
+/** Nowy, zmieniony albo usunięty plik w katalogu wyciągów – import do bazy, jeśli tej zawartości jeszcze nie było. */
+@InvalidatesQueries(GetAllTransactionQuery.class)
+public record ImportStatementCommand(Path file) implements Command {
+}
@@ -0,0 +1,66 @@
+package pl.mifi.account.application.transaction;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mifi.account.application.transaction.response.ImportSummary;
+import pl.mifi.account.domain.StatementImport;
+import pl.mifi.account.infrastruture.StatementImportRepository;
+import pl.mifi.account.infrastruture.csv.CsvTransactionReader;
+import pl.mifi.account.infrastruture.statements.StatementCatalog;
+import pl.mifi.account.infrastruture.statements.StatementCatalog.StatementFile;
+import pl.mifi.cqrs.CommandHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Import wyciągu do bazy – raz na zawartość pliku. Cały plik to jedna transakcja:
+ * albo wszystkie wiersze + wpis w rejestrze, albo nic. Wyciągi różnych banków importowane są
+ * równolegle (każdy we własnej transakcji) – patrz {@link pl.mifi.account.infrastruture.statements.StatementDirectoryWatcher}.
+ */
+@Component
+public class ImportStatementCommandHandler implements CommandHandler<ImportStatementCommand> {
+
+    private final StatementCatalog catalog;
+    private final StatementImportRepository importRepository;
+    private final StatementImporter importer;
+
+    public ImportStatementCommandHandler(StatementCatalog catalog,
+                                         StatementImportRepository importRepository,
+                                         StatementImporter importer) {
+        this.catalog = catalog;
+        this.importRepository = importRepository;
+        this.importer = importer;
+    }
+
+    @Override
+    @Transactional
+    public void handle(ImportStatementCommand command) {
+        if (!Files.isRegularFile(command.file())) {
+            // usunięcie pliku nie cofa importu – transakcje zostają w bazie
+            catalog.forget(command.file());
+            return;
+        }
+
+        StatementFile file = catalog.describe(command.file());
+        if (importRepository.existsBySha256(file.sha256())) return;
+
+        Optional<CsvTransactionReader> reader = catalog.readerFor(file.path());
+        if (reader.isEmpty()) return;
+
+        String fileName = file.path().getFileName().toString();
+        ImportSummary summary;
+        try (ReadableByteChannel channel = catalog.open(file.path())) {
+            summary = importer.importRows(reader.get(), channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to import statement " + file.path(), e);
+        }
+
+        importRepository.save(new StatementImport(file.sha256(), fileName, file.size(),
+                summary.imported(), summary.duplicates(), summary.failed(), Instant.now()));
+    }
+}
@@ -0,0 +1,117 @@
+package pl.mifi.account.application.transaction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mifi.account.application.transaction.response.ImportSummary;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.domain.TransactionCategory;
+import pl.mifi.account.infrastruture.ClassificationHistory;
+import pl.mifi.account.infrastruture.TitleCategoryClassifier;
+import pl.mifi.account.infrastruture.TransactionFingerprint;
+import pl.mifi.account.infrastruture.TransactionFingerprints;
+import pl.mifi.account.infrastruture.TransactionInserter;
+import pl.mifi.account.infrastruture.csv.CsvTransactionReader;
+import pl.mifi.account.infrastruture.csv.ParseIssue;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.*;
+
+/**
+ * Wspólna ścieżka importu dla plików z katalogu i uploadów: wiersze prosto z czytnika trafiają
+ * paczkami do bazy, z pominięciem transakcji, które już tam są. Wymaga otwartej transakcji wywołującego.
+ */
+@Component
+class StatementImporter {
+
+    /** Tyle odrzuconych wierszy trafia do {@link ImportSummary#issues()}; reszta jest tylko liczona. */
+    static final int MAX_REPORTED_ISSUES = 20;
+
+    private final TransactionFingerprints fingerprints;
+    private final TransactionInserter inserter;
+    private final int chunkSize;
+
+    StatementImporter(TransactionFingerprints fingerprints,
+                      TransactionInserter inserter,
+                      @Value("${mifi.statements.import-chunk-size:1000}") int chunkSize) {
+        this.fingerprints = fingerprints;
+        this.inserter = inserter;
+        this.chunkSize = chunkSize;
+    }
+
+    ImportSummary importRows(CsvTransactionReader reader, ReadableByteChannel source) throws IOException {
+        ChunkWriter writer = new ChunkWriter();
+        List<ParseIssue> issues = new ArrayList<>();
+        reader.read(source, writer::add, issue -> {
+            if (writer.failed++ < MAX_REPORTED_ISSUES) issues.add(issue);
+        });
+        writer.flush();
+        return new ImportSummary(writer.imported, writer.skipped, writer.failed, List.copyOf(issues));
+    }
+
+    /**
+     * Zbiera wiersze w paczki; dla każdej paczki liczy odciski, jednym zapytaniem (tylko dla tych,
+     * których nie odsiał filtr Blooma) sprawdza, które już są w bazie, i wstawia resztę z
+     * {@code on conflict do nothing} – wiersz, który równoległy import zapisał w międzyczasie,
+     * liczy się jako duplikat, zamiast wycofywać cały plik.
+     *
+     * Kategorie wstawionych wierszy trafiają do historii klasyfikatora dopiero po commicie – plik,
+     * którego import się wycofa, niczego indeksu nie uczy.
+     */
+    private final class ChunkWriter {
+        private final List<Transaction> pending = new ArrayList<>(chunkSize);
+        int imported;
+        int skipped;
+        int failed;
+
+        void add(Transaction t) {
+            pending.add(t);
+            if (pending.size() >= chunkSize) flush();
+        }
+
+        void flush() {
+            if (pending.isEmpty()) return;
+
+            Map<UUID, Transaction> fresh = new LinkedHashMap<>();
+            for (Transaction t : pending) {
+                t.setFingerprint(TransactionFingerprint.of(t));
+                fresh.putIfAbsent(t.getFingerprint(), t); // powtórka w tej samej paczce odpada
+            }
+            fresh.keySet().removeAll(fingerprints.existing(fresh.keySet()));
+            skipped += pending.size() - fresh.size();
+
+            List<Transaction> candidates = new ArrayList<>(fresh.values());
+            Set<UUID> inserted = inserter.insertNew(candidates);
+            List<Learned> learned = new ArrayList<>(inserted.size());
+            for (Transaction t : candidates) {
+                if (!inserted.contains(t.getFingerprint())) continue;
+                learned.add(new Learned(t.getTitle(), ClassificationHistory.categoryOf(t.getCategory())));
+                fingerprints.added(t.getFingerprint());
+            }
+            imported += inserted.size();
+            skipped += candidates.size() - inserted.size();
+            learnAfterCommit(learned);
+            pending.clear();
+        }
+    }
+
+    private record Learned(String title, TransactionCategory category) {
+    }
+
+    private static void learnAfterCommit(List<Learned> learned) {
+        if (learned.isEmpty()) return;
+        Runnable learn = () -> learned.forEach(l -> TitleCategoryClassifier.learn(l.title(), l.category()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    learn.run();
+                }
+            });
+        } else {
+            learn.run();
+        }
+    }
+}
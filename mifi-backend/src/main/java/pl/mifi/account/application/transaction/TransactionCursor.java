@@ -0,0 +1,40 @@
+package pl.mifi.account.application.transaction;
+
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.TransactionSearchRepository;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Pozycja na liście transakcji: klucz sortowania (data, kwota, id) ostatniego wiersza strony.
+ * Dla klienta nieprzezroczysty – base64url z "epochMillis:kwota:id".
+ */
+record TransactionCursor(Date date, BigDecimal amount, long id) {
+
+    static TransactionCursor after(Transaction last) {
+        return new TransactionCursor(last.getDate(), last.getAmount(), last.getId());
+    }
+
+    TransactionSearchRepository.PageKey key() {
+        return new TransactionSearchRepository.PageKey(date, amount, id);
+    }
+
+    String encode() {
+        String raw = date.getTime() + ":" + amount.toPlainString() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(":", 3);
+            return new TransactionCursor(new Date(Long.parseLong(parts[0])), new BigDecimal(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package pl.mifi.account.application.transaction;
+
+import pl.mifi.account.application.transaction.response.ImportSummary;
+import pl.mifi.cqrs.Command;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Wyciąg przesłany przez HTTP. Format rozpoznawany po nazwie pliku, treść czytana strumieniowo
+ * (strumienia nie zamyka handler). Komendy nie zwracają wyniku, więc podsumowanie trafia do {@code result}.
+ */
+@InvalidatesQueries(GetAllTransactionQuery.class)
+public record UploadStatementCommand(String fileName, InputStream content, CompletableFuture<ImportSummary> result)
+        implements Command {
+
+    public UploadStatementCommand(String fileName, InputStream content) {
+        this(fileName, content, new CompletableFuture<>());
+    }
+}
@@ -0,0 +1,103 @@
+package pl.mifi.account.application.transaction;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mifi.account.application.transaction.response.ImportSummary;
+import pl.mifi.account.domain.StatementImport;
+import pl.mifi.account.infrastruture.StatementImportRepository;
+import pl.mifi.account.infrastruture.csv.BankFormatRegistry;
+import pl.mifi.account.infrastruture.csv.CsvTransactionReader;
+import pl.mifi.cqrs.CommandHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Import przesłanego wyciągu w jednym przebiegu: bajty z żądania idą prosto do czytnika,
+ * a SHA-256 liczony jest po drodze, żeby ten sam plik wrzucony później do katalogu nie był czytany ponownie.
+ */
+@Component
+public class UploadStatementCommandHandler implements CommandHandler<UploadStatementCommand> {
+
+    private final BankFormatRegistry formats;
+    private final StatementImportRepository importRepository;
+    private final StatementImporter importer;
+
+    public UploadStatementCommandHandler(BankFormatRegistry formats,
+                                         StatementImportRepository importRepository,
+                                         StatementImporter importer) {
+        this.formats = formats;
+        this.importRepository = importRepository;
+        this.importer = importer;
+    }
+
+    @Override
+    @Transactional
+    public void handle(UploadStatementCommand command) {
+        CsvTransactionReader reader = formats.readerFor(command.fileName())
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported statement file: " + command.fileName()));
+
+        HashingChannel channel = new HashingChannel(Channels.newChannel(command.content()));
+        ImportSummary summary;
+        try {
+            summary = importer.importRows(reader, channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to import uploaded statement " + command.fileName(), e);
+        }
+
+        String sha256 = channel.sha256();
+        if (!importRepository.existsBySha256(sha256)) {
+            importRepository.save(new StatementImport(sha256, command.fileName(), channel.size,
+                    summary.imported(), summary.duplicates(), summary.failed(), Instant.now()));
+        }
+        command.result().complete(summary);
+    }
+
+    /** Przepuszcza bajty bez kopiowania całości, licząc po drodze rozmiar i SHA-256. */
+    private static final class HashingChannel implements ReadableByteChannel {
+        private final ReadableByteChannel delegate;
+        private final MessageDigest digest;
+        private long size;
+
+        HashingChannel(ReadableByteChannel delegate) {
+            this.delegate = delegate;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int start = dst.position();
+            int n = delegate.read(dst);
+            if (n > 0) {
+                digest.update(dst.duplicate().position(start).limit(start + n));
+                size += n;
+            }
+            return n;
+        }
+
+        String sha256() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package pl.mifi.account.application.transaction.response;
+
+import pl.mifi.account.infrastruture.csv.ParseIssue;
+
+import java.util.List;
+
+/**
+ * Wynik importu wyciągu: wiersze zapisane, pominięte jako duplikaty i odrzucone przez błędne wartości.
+ * {@code issues} to pierwsze odrzucone wiersze (najwyżej kilkadziesiąt) – pełna liczba jest w {@code failed}.
+ */
+public record ImportSummary(int imported, int duplicates, int failed, List<ParseIssue> issues) {
+}
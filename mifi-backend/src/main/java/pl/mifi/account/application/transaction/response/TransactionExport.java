@@ -0,0 +1,11 @@
+package pl.mifi.account.application.transaction.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Eksport odłożony do chwili, gdy jest gdzie pisać – czyta bazę dopiero w {@link #writeTo}. */
+@FunctionalInterface
+public interface TransactionExport {
+
+    void writeTo(OutputStream out) throws IOException;
+}
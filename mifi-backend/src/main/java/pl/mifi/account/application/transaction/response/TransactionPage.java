@@ -0,0 +1,9 @@
+package pl.mifi.account.application.transaction.response;
+
+import pl.mifi.account.domain.Transaction;
+
+import java.util.List;
+
+/** Strona transakcji; {@code next} to kursor następnej strony albo {@code null} na końcu. */
+public record TransactionPage(List<Transaction> items, String next) {
+}
@@ -0,0 +1,7 @@
+package pl.mifi.account.domain;
+
+/** Skąd transakcja ma kategorię – przeklasyfikowanie regułami nie nadpisuje ręcznych. */
+public enum CategorySource {
+    RULE,       // klasyfikator przy imporcie wyciągu
+    MANUAL      // podana przez użytkownika (POST /transactions)
+}
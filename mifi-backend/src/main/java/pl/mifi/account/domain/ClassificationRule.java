@@ -0,0 +1,43 @@
+package pl.mifi.account.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import pl.mifi.domain.seed_work.BaseEntity;
+
+/**
+ * Reguła klasyfikacji: regex sprawdzany na znormalizowanym tytule (wielkie litery ASCII, bez ogonków).
+ * Reguły sprawdzane są wg rosnącego {@code priority} – wygrywa pierwsza pasująca.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // required by JPA
+@Table(name = "classification_rule", indexes = @Index(name = "idx_classification_rule_priority", columnList = "priority"))
+public class ClassificationRule extends BaseEntity {
+
+    @Column(nullable = false, length = 1000)
+    private String pattern;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionCategory category;
+
+    private int priority;
+
+    private boolean enabled;
+
+    public ClassificationRule(String pattern, TransactionCategory category, int priority, boolean enabled) {
+        this.pattern = pattern;
+        this.category = category;
+        this.priority = priority;
+        this.enabled = enabled;
+    }
+
+    public void update(String pattern, TransactionCategory category, int priority, boolean enabled) {
+        this.pattern = pattern;
+        this.category = category;
+        this.priority = priority;
+        this.enabled = enabled;
+    }
+}
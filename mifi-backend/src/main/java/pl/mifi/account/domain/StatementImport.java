@@ -0,0 +1,43 @@
+package pl.mifi.account.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import pl.mifi.domain.seed_work.BaseEntity;
+
+import java.time.Instant;
+
+/** Wpis rejestru importów: wyciąg o danej zawartości (SHA-256) trafia do bazy dokładnie raz. */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // required by JPA
+@Table(name = "statement_import", uniqueConstraints = @UniqueConstraint(columnNames = "sha256"))
+public class StatementImport extends BaseEntity {
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    private String fileName;
+
+    private long sizeBytes;
+
+    private int rowsImported;
+
+    private int rowsSkipped;
+
+    private int rowsFailed;
+
+    private Instant importedAt;
+
+    public StatementImport(String sha256, String fileName, long sizeBytes, int rowsImported, int rowsSkipped,
+                           int rowsFailed, Instant importedAt) {
+        this.sha256 = sha256;
+        this.fileName = fileName;
+        this.sizeBytes = sizeBytes;
+        this.rowsImported = rowsImported;
+        this.rowsSkipped = rowsSkipped;
+        this.rowsFailed = rowsFailed;
+        this.importedAt = importedAt;
+    }
+}
@@ -1,12 +1,23 @@
 package pl.mifi.account.domain;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import pl.mifi.domain.seed_work.BaseEntity;
 
 import java.math.BigDecimal;
 import java.util.Date;
+import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_transaction_date_amount_id", columnList = "date DESC, amount DESC, id DESC"),
+        @Index(name = "idx_transaction_category_date", columnList = "category, date DESC, amount DESC, id DESC"),
+        @Index(name = "idx_transaction_bank_date", columnList = "bank, date DESC, amount DESC, id DESC"),
+        @Index(name = "ux_transaction_fingerprint", columnList = "fingerprint", unique = true)
+})
 public class Transaction extends BaseEntity {
 
     public Transaction() {
@@ -44,6 +55,9 @@ public class Transaction extends BaseEntity {
     private BigDecimal amount;
     private String type;
     private String category;
+    // null w wierszach sprzed tej kolumny – traktowane jak RULE
+    @Enumerated(EnumType.STRING)
+    private CategorySource categorySource;
     private String account;
     //TODO: Check what is the best option here for date candidate
     private Date date;
@@ -51,6 +65,17 @@ public class Transaction extends BaseEntity {
 
     private Bank bank;
 
+    // 128-bit odcisk (data, kwota, znormalizowany tytuł) – ten sam wiersz wyciągu nie trafi do bazy dwa razy
+    private UUID fingerprint;
+
+    public void setFingerprint(UUID fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public void setCategorySource(CategorySource categorySource) {
+        this.categorySource = categorySource;
+    }
+
     public void setBank(Bank bank) {
         this.bank = bank;
     }
@@ -79,6 +104,10 @@ public class Transaction extends BaseEntity {
         return category;
     }
 
+    public CategorySource getCategorySource() {
+        return categorySource;
+    }
+
     public String getAccount() {
         return account;
     }
@@ -98,4 +127,8 @@ public class Transaction extends BaseEntity {
     public String getTitle() {
         return title;
     }
+
+    public UUID getFingerprint() {
+        return fingerprint;
+    }
 }
@@ -0,0 +1,35 @@
+package pl.mifi.account.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Kryteria listy transakcji; {@code null} = bez ograniczenia. Daty włącznie,
+ * kwoty ze znakiem (wydatki są ujemne), kategoria i typ bez względu na wielkość liter.
+ */
+public record TransactionFilter(LocalDate from,
+                                LocalDate to,
+                                String category,
+                                Bank bank,
+                                String type,
+                                BigDecimal minAmount,
+                                BigDecimal maxAmount) {
+
+    public static final TransactionFilter NONE = new TransactionFilter(null, null, null, null, null, null, null);
+
+    public TransactionFilter {
+        category = upperOrNull(category);
+        type = upperOrNull(type);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Filter 'from' is after 'to': " + from + " > " + to);
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new IllegalArgumentException("Filter 'minAmount' is above 'maxAmount': " + minAmount + " > " + maxAmount);
+        }
+    }
+
+    private static String upperOrNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,52 @@
+package pl.mifi.account.infrastruture;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtr Blooma na gotowych 128-bitowych skrótach: dwie połówki dają k indeksów (h1 + i·h2),
+ * bez ponownego hashowania. Dodawanie i sprawdzanie bez blokad. {@code false} z
+ * {@link #mightContain} jest pewne; {@code true} trzeba potwierdzić w bazie.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    /** Rozmiar dla {@code expected} elementów przy zadanym odsetku fałszywych trafień. */
+    BloomFilter(long expected, double falsePositiveRate) {
+        long m = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expected * Math.log(2)));
+    }
+
+    void add(long h1, long h2) {
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(h1, h2, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(long h1, long h2) {
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(h1, h2, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    long sizeBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private long index(long h1, long h2, int i) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+    }
+}
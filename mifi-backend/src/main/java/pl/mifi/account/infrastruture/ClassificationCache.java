@@ -0,0 +1,79 @@
+package pl.mifi.account.infrastruture;
+
+import pl.mifi.account.domain.TransactionCategory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Znormalizowany tytuł -> kategoria, bez blokad (czytniki wyciągów klasyfikują równolegle).
+ * Rozmiar ograniczony, po przekroczeniu usuwane są najstarsze wpisy (FIFO).
+ *
+ * {@link #invalidateAll()} podmienia całą generację – wynik policzony jeszcze na starych regułach
+ * trafia do porzuconej mapy, więc nie przeżyje zmiany reguł.
+ */
+final class ClassificationCache {
+
+    private final int maxSize;
+    private volatile Generation current = new Generation();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    ClassificationCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    TransactionCategory get(String normalizedTitle, Function<String, TransactionCategory> classifier) {
+        Generation g = current;
+        TransactionCategory cached = g.entries.get(normalizedTitle);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        TransactionCategory category = classifier.apply(normalizedTitle);
+        if (g.entries.putIfAbsent(normalizedTitle, category) == null) {
+            g.order.add(normalizedTitle);
+            if (g.size.incrementAndGet() > maxSize) evict(g);
+        }
+        return category;
+    }
+
+    void invalidateAll() {
+        current = new Generation();
+        invalidations.increment();
+    }
+
+    ClassificationCacheStats stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        return new ClassificationCacheStats(current.size.get(), maxSize, h, m,
+                h + m == 0 ? 0.0 : (double) h / (h + m), evictions.sum(), invalidations.sum());
+    }
+
+    private void evict(Generation g) {
+        while (g.size.get() > maxSize) {
+            String eldest = g.order.poll();
+            if (eldest == null) return;
+            if (g.entries.remove(eldest) != null) {
+                g.size.decrementAndGet();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Generation {
+        final Map<String, TransactionCategory> entries = new ConcurrentHashMap<>();
+        final Queue<String> order = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+    }
+}
@@ -0,0 +1,10 @@
+package pl.mifi.account.infrastruture;
+
+public record ClassificationCacheStats(int size,
+                                       int maxSize,
+                                       long hits,
+                                       long misses,
+                                       double hitRate,
+                                       long evictions,
+                                       long invalidations) {
+}
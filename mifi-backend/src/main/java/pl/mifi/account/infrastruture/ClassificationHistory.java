@@ -0,0 +1,64 @@
+package pl.mifi.account.infrastruture;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import pl.mifi.account.domain.TransactionCategory;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Przy starcie przepuszcza zapisane transakcje przez indeks podpowiedzi klasyfikatora, w tle –
+ * do czasu zakończenia podpowiedzi opierają się na tym, czego indeks zdążył się nauczyć.
+ * Dalej indeks uczy się na bieżąco z importów i ręcznych kategorii.
+ */
+@Component
+public class ClassificationHistory {
+
+    private static final Logger log = LoggerFactory.getLogger(ClassificationHistory.class);
+
+    private final TransactionRepository transactionRepository;
+    private final int chunkSize;
+
+    public ClassificationHistory(TransactionRepository transactionRepository,
+                                 @Value("${mifi.reclassify.chunk-size:5000}") int chunkSize) {
+        this.transactionRepository = transactionRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        Thread.ofVirtual().name("classification-history").start(this::load);
+    }
+
+    private void load() {
+        try {
+            long afterId = 0;
+            List<TransactionTitle> chunk;
+            while (!(chunk = transactionRepository.findTitlesAfter(afterId, Limit.of(chunkSize))).isEmpty()) {
+                for (TransactionTitle row : chunk) {
+                    TransactionCategory category = categoryOf(row.category());
+                    if (category != null) TitleCategoryClassifier.learn(row.title(), category);
+                }
+                afterId = chunk.get(chunk.size() - 1).id();
+            }
+        } catch (RuntimeException ex) {
+            // bez historii klasyfikacja działa dalej na samych regułach
+            log.warn("Classification history not loaded", ex);
+        }
+    }
+
+    /** Kategoria zapisana jako tekst; nieznana nazwa (stare dane) jest pomijana. */
+    public static TransactionCategory categoryOf(String name) {
+        if (name == null || name.isBlank()) return null;
+        try {
+            return TransactionCategory.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
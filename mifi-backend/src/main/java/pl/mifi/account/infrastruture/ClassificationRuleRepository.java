@@ -0,0 +1,15 @@
+package pl.mifi.account.infrastruture;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import pl.mifi.account.domain.ClassificationRule;
+
+import java.util.List;
+
+@Repository
+public interface ClassificationRuleRepository extends JpaRepository<ClassificationRule, Long> {
+
+    List<ClassificationRule> findAllByOrderByPriorityAscIdAsc();
+
+    List<ClassificationRule> findByEnabledTrueOrderByPriorityAscIdAsc();
+}
@@ -0,0 +1,76 @@
+package pl.mifi.account.infrastruture;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mifi.account.domain.ClassificationRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Reguły klasyfikacji z tabeli {@code classification_rule} -> {@link TitleCategoryClassifier}.
+ *
+ * {@link #reload()} czyta reguły i kompiluje nowy zestaw (regexy + automat) na wątku wywołującego,
+ * a dopiero gotowy podmienia jednym zapisem volatile. Klasyfikacja nie bierze żadnej blokady: import
+ * w toku dokańcza bieżący wiersz na starym zestawie, następny widzi już nowy. Przeładowania idą po
+ * kolei, żeby starszy odczyt nie nadpisał nowszego. Błędny regex w bazie przerywa przeładowanie –
+ * zostaje poprzedni zestaw.
+ *
+ * Zmiany reguł przeładowują przez {@link #reloadAfterCommit()} – w transakcji dopiero po commicie,
+ * żeby klasyfikator nie czytał niezatwierdzonych (albo wycofanych) reguł.
+ */
+@Component
+public class ClassificationRules {
+
+    // odstępy między priorytetami startowych reguł – miejsce na wstawienie nowej pomiędzy
+    private static final int SEED_PRIORITY_STEP = 10;
+
+    private final ClassificationRuleRepository repository;
+
+    public ClassificationRules(ClassificationRuleRepository repository) {
+        this.repository = repository;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (repository.count() == 0) seed();
+        reload();
+    }
+
+    /** Wczytuje włączone reguły z bazy i podmienia je w klasyfikatorze; zwraca ich liczbę. */
+    public synchronized int reload() {
+        List<TitleCategoryClassifier.Rule> rules = repository.findByEnabledTrueOrderByPriorityAscIdAsc().stream()
+                .map(rule -> new TitleCategoryClassifier.Rule(Pattern.compile(rule.getPattern()), rule.getCategory()))
+                .toList();
+        TitleCategoryClassifier.useRules(rules);
+        return rules.size();
+    }
+
+    /** {@link #reload()} po commicie bieżącej transakcji; bez transakcji – od razu. */
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    /** Pusta tabela (pierwszy start) – zapisuje wbudowany zestaw reguł w dotychczasowej kolejności. */
+    private void seed() {
+        List<TitleCategoryClassifier.Rule> defaults = TitleCategoryClassifier.defaultRules();
+        List<ClassificationRule> rows = new ArrayList<>(defaults.size());
+        for (int i = 0; i < defaults.size(); i++) {
+            TitleCategoryClassifier.Rule rule = defaults.get(i);
+            rows.add(new ClassificationRule(rule.pattern().pattern(), rule.category(), (i + 1) * SEED_PRIORITY_STEP, true));
+        }
+        repository.saveAll(rows);
+    }
+}
@@ -0,0 +1,12 @@
+package pl.mifi.account.infrastruture;
+
+/**
+ * Stan filtra Blooma odcisków: {@code loaded} – odciski wczytane z bazy przy starcie,
+ * {@code error} – powód, gdy ładowanie się nie udało (deduplikacja idzie wtedy w całości przez bazę).
+ */
+public record FingerprintFilterStatus(State state, long loaded, long sizeBytes, String error) {
+
+    public enum State {
+        LOADING, READY, FAILED
+    }
+}
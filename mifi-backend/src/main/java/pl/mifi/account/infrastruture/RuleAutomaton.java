@@ -0,0 +1,351 @@
+package pl.mifi.account.infrastruture;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lista reguł (regexów w kolejności priorytetu) skompilowana do jednego automatu Aho-Corasick.
+ *
+ * Z każdego regexu wyciągany jest literał, który musi wystąpić w każdym dopasowaniu (po jednym na
+ * alternatywę "|"). Jeden przebieg automatu po tytule daje zbiór reguł-kandydatów; regex uruchamiany
+ * jest tylko dla nich, w oryginalnej kolejności – więc wynik jest identyczny jak przy sprawdzaniu
+ * reguł po kolei. Reguły będące samym literałem (ew. z {@code \b} i {@code .*} na brzegach)
+ * rozstrzygane są bez regexu. Reguły, z których nie da się wyciągnąć literału, są zawsze kandydatami.
+ */
+final class RuleAutomaton {
+
+    private static final int ASCII = 128;
+
+    // całe źródło to literał, opcjonalnie z .* i \b na brzegach: ".*APTEKA.*", "\\bLIDL\\b"
+    private static final Pattern EXACT = Pattern.compile(
+            "(?:\\.\\*)?(\\\\b)?((?:[^\\\\\\[\\](){}.*+?^$|]|\\\\[^A-Za-z0-9])+)(\\\\b)?(?:\\.\\*)?");
+
+    private final Pattern[] patterns;
+    private final BitSet residual;
+    private final Literal[] literals;
+    private final int[] charClass;
+    private final int classes;
+    private final int[] next;       // DFA: stan * classes + klasa -> stan
+    private final int[][] hits;     // stan -> indeksy literałów kończących się w tym miejscu
+
+    private record Literal(int rule, int length, boolean exact, boolean leftBound, boolean rightBound) {
+    }
+
+    private RuleAutomaton(List<Pattern> rules) {
+        this.patterns = rules.toArray(Pattern[]::new);
+        this.residual = new BitSet(patterns.length);
+
+        List<String> texts = new ArrayList<>();
+        List<Literal> lits = new ArrayList<>();
+        for (int rule = 0; rule < patterns.length; rule++) {
+            String source = patterns[rule].pattern();
+            Matcher exact = patterns[rule].flags() == 0 ? EXACT.matcher(source) : null;
+            if (exact != null && exact.matches() && isAscii(unescape(exact.group(2)))) {
+                String text = unescape(exact.group(2));
+                texts.add(text);
+                lits.add(new Literal(rule, text.length(), true, exact.group(1) != null, exact.group(3) != null));
+                continue;
+            }
+            List<String> required = patterns[rule].flags() == 0 ? requiredLiterals(source) : null;
+            if (required == null) {
+                residual.set(rule);
+                continue;
+            }
+            for (String text : required) {
+                texts.add(text);
+                lits.add(new Literal(rule, text.length(), false, false, false));
+            }
+        }
+        this.literals = lits.toArray(Literal[]::new);
+
+        // klasy znaków: tylko te, które występują w literałach; reszta to klasa 0 (powrót do korzenia)
+        this.charClass = new int[ASCII];
+        int cls = 1;
+        for (String text : texts) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (charClass[c] == 0) charClass[c] = cls++;
+            }
+        }
+        this.classes = cls;
+
+        // trie
+        List<int[]> gotoRows = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        gotoRows.add(newRow());
+        out.add(new ArrayList<>());
+        for (int id = 0; id < texts.size(); id++) {
+            String text = texts.get(id);
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                int c = charClass[text.charAt(i)];
+                if (gotoRows.get(state)[c] < 0) {
+                    gotoRows.get(state)[c] = gotoRows.size();
+                    gotoRows.add(newRow());
+                    out.add(new ArrayList<>());
+                }
+                state = gotoRows.get(state)[c];
+            }
+            out.get(state).add(id);
+        }
+
+        // linki porażek BFS-em i domknięcie do pełnego DFA
+        int states = gotoRows.size();
+        int[] fail = new int[states];
+        this.next = new int[states * classes];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < classes; c++) {
+            int child = gotoRows.get(0)[c];
+            if (child > 0) {
+                next[c] = child;
+                fail[child] = 0;
+                queue.add(child);
+            } else {
+                next[c] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            for (int c = 0; c < classes; c++) {
+                int child = gotoRows.get(state)[c];
+                if (child > 0) {
+                    fail[child] = next[fail[state] * classes + c];
+                    next[state * classes + c] = child;
+                    queue.add(child);
+                } else {
+                    next[state * classes + c] = next[fail[state] * classes + c];
+                }
+            }
+        }
+        this.hits = new int[states][];
+        for (int s = 0; s < states; s++) {
+            hits[s] = out.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    static RuleAutomaton compile(List<Pattern> rules) {
+        return new RuleAutomaton(rules);
+    }
+
+    /** Indeks pierwszej (wg priorytetu) pasującej reguły albo -1. */
+    int firstMatch(String title) {
+        BitSet candidates = (BitSet) residual.clone();
+        BitSet confirmed = new BitSet(patterns.length);
+
+        int state = 0;
+        for (int i = 0; i < title.length(); i++) {
+            char ch = title.charAt(i);
+            state = next[state * classes + (ch < ASCII ? charClass[ch] : 0)];
+            for (int id : hits[state]) {
+                Literal lit = literals[id];
+                if (!lit.exact()) {
+                    candidates.set(lit.rule());
+                } else if (bounded(title, i + 1 - lit.length(), i + 1, lit)) {
+                    candidates.set(lit.rule());
+                    confirmed.set(lit.rule());
+                }
+            }
+        }
+
+        for (int rule = candidates.nextSetBit(0); rule >= 0; rule = candidates.nextSetBit(rule + 1)) {
+            if (confirmed.get(rule) || patterns[rule].matcher(title).find()) return rule;
+        }
+        return -1;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[classes];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    // ---- \b dla literałów rozstrzyganych bez regexu ----
+
+    private static boolean bounded(String s, int start, int end, Literal lit) {
+        return (!lit.leftBound() || isBoundary(s, start)) && (!lit.rightBound() || isBoundary(s, end));
+    }
+
+    private static boolean isBoundary(String s, int pos) {
+        boolean before = pos > 0 && isWord(s.charAt(pos - 1));
+        boolean after = pos < s.length() && isWord(s.charAt(pos));
+        return before != after;
+    }
+
+    private static boolean isWord(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    // ---- wyciąganie literałów z regexu ----
+
+    /**
+     * Po jednym literale na alternatywę najwyższego poziomu – najdłuższy ciąg znaków, który musi
+     * wystąpić dosłownie. Wszystko niepewne (klasy, grupy, kwantyfikatory) tylko skraca ciąg,
+     * więc wynik jest zawsze warunkiem koniecznym. {@code null}, gdy któraś alternatywa nie ma literału
+     * albo regex zawiera składnię, której ten parser nie rozbiera (patrz {@link #hasOpaqueSyntax}).
+     */
+    static List<String> requiredLiterals(String regex) {
+        if (hasOpaqueSyntax(regex)) return null;
+        List<String> result = new ArrayList<>();
+        for (String alternative : topLevelAlternatives(regex)) {
+            String literal = longestRun(alternative);
+            if (literal.isEmpty()) return null;
+            result.add(literal);
+        }
+        return result;
+    }
+
+    /**
+     * Kody znaków ({@code \\x41}, {@code \\u0041}, {@code \\0101}, {@code \\cA}, {@code \\N{...}}), cytowanie
+     * {@code \\Q...\\E}, własności {@code \\pL}, odwołania {@code \\k<...>} i flagi w środku ({@code (?i)}) –
+     * literał z nich wyciągnięty byłby błędny, więc taka reguła jest zawsze kandydatem.
+     */
+    private static boolean hasOpaqueSyntax(String regex) {
+        for (int i = 0; i + 1 < regex.length(); i++) {
+            char c = regex.charAt(i);
+            char n = regex.charAt(i + 1);
+            if (c == '\\') {
+                if ("xu0cNQEpPk".indexOf(n) >= 0) return true;
+                i++;
+            } else if (c == '(' && n == '?' && i + 2 < regex.length()
+                    && (Character.isLetter(regex.charAt(i + 2)) || regex.charAt(i + 2) == '-')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> topLevelAlternatives(String regex) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int from = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipClass(regex, i);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                parts.add(regex.substring(from, i));
+                from = i + 1;
+            }
+        }
+        parts.add(regex.substring(from));
+        return parts;
+    }
+
+    private static String longestRun(String alt) {
+        String best = "";
+        StringBuilder run = new StringBuilder();
+        int i = 0;
+        while (i < alt.length()) {
+            char c = alt.charAt(i);
+            int atomEnd;
+            char literal = 0;
+            boolean isLiteral = false;
+
+            if (c == '\\') {
+                char n = i + 1 < alt.length() ? alt.charAt(i + 1) : 0;
+                if (n == 'b') {              // granica słowa – zero szerokości, ciąg trwa dalej
+                    i += 2;
+                    continue;
+                }
+                if (n != 0 && !Character.isLetterOrDigit(n)) {
+                    literal = n;
+                    isLiteral = n < ASCII;
+                    atomEnd = i + 2;
+                } else if ((n == 'p' || n == 'P') && i + 2 < alt.length() && alt.charAt(i + 2) == '{') {
+                    atomEnd = alt.indexOf('}', i) + 1;
+                } else {
+                    atomEnd = i + 2;
+                }
+            } else if (c == '[') {
+                atomEnd = skipClass(alt, i) + 1;
+            } else if (c == '(') {
+                atomEnd = skipGroup(alt, i) + 1;
+            } else if (c == '^' || c == '$') {
+                i++;
+                continue;
+            } else if (c == '.' || c == '*' || c == '+' || c == '?' || c == '{' || c == ')' || c == '|') {
+                atomEnd = i + 1;
+            } else {
+                literal = c;
+                isLiteral = c < ASCII;
+                atomEnd = i + 1;
+            }
+
+            // kwantyfikator po atomie
+            char q = atomEnd < alt.length() ? alt.charAt(atomEnd) : 0;
+            int end = atomEnd;
+            if (q == '*' || q == '?' || q == '+' || q == '{') {
+                end = q == '{' ? alt.indexOf('}', atomEnd) + 1 : atomEnd + 1;
+                if (end < alt.length() && (alt.charAt(end) == '?' || alt.charAt(end) == '+')) end++;
+            }
+
+            if (isLiteral && (q == '+')) {
+                run.append(literal);                 // co najmniej raz – dalej ciąg się urywa
+                best = longer(best, run);
+                run.setLength(0);
+            } else if (isLiteral && end == atomEnd) {
+                run.append(literal);
+            } else {
+                best = longer(best, run);           // atom opcjonalny albo nie-literał
+                run.setLength(0);
+            }
+            i = Math.max(end, i + 1);
+        }
+        return longer(best, run);
+    }
+
+    private static String longer(String best, CharSequence run) {
+        return run.length() > best.length() ? run.toString() : best;
+    }
+
+    private static int skipClass(String s, int open) {
+        int i = open + 1;
+        if (i < s.length() && s.charAt(i) == '^') i++;
+        if (i < s.length() && s.charAt(i) == ']') i++;
+        int depth = 1;
+        for (; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\') i++;
+            else if (c == '[') depth++;
+            else if (c == ']' && --depth == 0) return i;
+        }
+        return s.length() - 1;
+    }
+
+    private static int skipGroup(String s, int open) {
+        int depth = 0;
+        for (int i = open; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\') i++;
+            else if (c == '[') i = skipClass(s, i);
+            else if (c == '(') depth++;
+            else if (c == ')' && --depth == 0) return i;
+        }
+        return s.length() - 1;
+    }
+
+    private static String unescape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < s.length()) c = s.charAt(++i);
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= ASCII) return false;
+        }
+        return !s.isEmpty();
+    }
+}
@@ -0,0 +1,11 @@
+package pl.mifi.account.infrastruture;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import pl.mifi.account.domain.StatementImport;
+
+@Repository
+public interface StatementImportRepository extends JpaRepository<StatementImport, Long> {
+
+    boolean existsBySha256(String sha256);
+}
@@ -2,7 +2,6 @@ package pl.mifi.account.infrastruture;
 
 import pl.mifi.account.domain.TransactionCategory;
 
-import java.text.Normalizer;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -11,42 +10,71 @@ public final class TitleCategoryClassifier {
     public static TransactionCategory classify(String rawTitle) {
         if (rawTitle == null || rawTitle.isBlank()) return TransactionCategory.UNKNOWN;
 
-        String title = normalizeTitle(rawTitle);
+        // ci sami sprzedawcy wracają w każdym wyciągu – regułami sprawdzany jest tylko nowy tytuł
+        String title = TitleNormalizer.normalize(rawTitle);
+        TransactionCategory category = CACHE.get(title, t -> ruleSet.classify(t));
 
-        // Priorytety: najpierw specyficzne (fast-food), potem szersze (groceries), na końcu fallbacki
-        for (Rule r : RULES) {
-            if (r.pattern().matcher(title).find()) {
-                return r.category();
-            }
-        }
-        return TransactionCategory.UNKNOWN;
+        // reguły nie wiedzą – podpowiedź z historii; poza cache, bo indeks uczy się na bieżąco
+        return category != TransactionCategory.UNKNOWN ? category : HISTORY.suggest(title);
+    }
+
+    /** Zapisana transakcja z kategorią – materiał dla podpowiedzi z historii. */
+    public static void learn(String rawTitle, TransactionCategory category) {
+        if (rawTitle == null || category == null) return;
+        HISTORY.learn(TitleNormalizer.normalize(rawTitle), category, 1);
+    }
+
+    /** Kategoria nadana ręcznie – liczy się jak kilka zwykłych obserwacji. */
+    public static void learnCorrection(String rawTitle, TransactionCategory category) {
+        if (rawTitle == null || category == null) return;
+        HISTORY.learn(TitleNormalizer.normalize(rawTitle), category, CORRECTION_WEIGHT);
     }
 
-    /** usuwa "DATA TRANSAKCJI: ..." i normalizuje */
-    static String normalizeTitle(String s) {
-        String t = s;
-        int idx = t.indexOf("DATA TRANSAKCJI");
-        if (idx >= 0) t = t.substring(0, idx);
+    /** Liczba słów w indeksie podpowiedzi. */
+    public static int historyTokens() {
+        return HISTORY.size();
+    }
 
-        // do ASCII (bez ogonków), wielkie litery
-        String noDiacritics = Normalizer.normalize(t, Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-        // ujednolicenie białych znaków i slashy
-        noDiacritics = noDiacritics.replace('/', ' ').replace('\\', ' ');
+    /** Trafienia/chybienia cache klasyfikacji od startu aplikacji. */
+    public static ClassificationCacheStats cacheStats() {
+        return CACHE.stats();
+    }
 
-        // usuwamy wszystko poza literami/cyframi/spacjami i kompresujemy spacje
-        noDiacritics = noDiacritics.replaceAll("[^A-Za-z0-9 ]+", " ").replaceAll("\\s+", " ").trim();
+    /**
+     * Podmienia reguły (kolejność = priorytet); cache wyników poprzednich reguł jest porzucany.
+     * Nowy zestaw kompilowany jest przed podmianą – klasyfikacja w tym czasie idzie na starym.
+     */
+    static void useRules(List<Rule> rules) {
+        ruleSet = new RuleSet(rules);
+        CACHE.invalidateAll();
+    }
 
-        return noDiacritics.toUpperCase();
+    /** Wbudowany zestaw – używany do pierwszego wczytania reguł z bazy i do jej zasilenia. */
+    static List<Rule> defaultRules() {
+        return RULES;
     }
 
     record Rule(Pattern pattern, TransactionCategory category) {}
 
+    /** Reguły razem z automatem – podmieniane jednym zapisem, więc nigdy nie są ze sobą niespójne. */
+    private record RuleSet(List<Rule> rules, RuleAutomaton automaton) {
+        RuleSet(List<Rule> rules) {
+            this(List.copyOf(rules), RuleAutomaton.compile(rules.stream().map(Rule::pattern).toList()));
+        }
+
+        // Priorytety: najpierw specyficzne (fast-food), potem szersze (groceries), na końcu fallbacki –
+        // automat zwraca pierwszą pasującą regułę w tej kolejności
+        TransactionCategory classify(String normalizedTitle) {
+            int rule = automaton.firstMatch(normalizedTitle);
+            return rule < 0 ? TransactionCategory.UNKNOWN : rules.get(rule).category();
+        }
+    }
+
     private static Rule r(String regex, TransactionCategory c) {
         return new Rule(Pattern.compile(regex), c);
     }
 
-    // Zestaw startowy reguł – dopisuj/porządkuj wg potrzeb
+    // Zestaw startowy reguł – trafia do tabeli classification_rule przy pierwszym starcie, dalej edycja przez API
     private static final List<Rule> RULES = List.of(
             // --- FAST FOOD
             r("\\bMCDONALD|MC\\s*DONALD|KFC\\b|POPEYES|BURGER\\s*KING|DURMAK\\s*KEBAB|MACZANE\\b|FRYTKI\\bSALAD\\s*STORY\\b", TransactionCategory.FAST_FOOD),
@@ -205,4 +233,14 @@ public final class TitleCategoryClassifier {
             r("PRZELEW\\s*NA\\s*TELEFON", TransactionCategory.TRANSFER),
             r("PRZELEW\\s*SRODKOW", TransactionCategory.TRANSFER)
     );
+
+    private static final int CACHE_SIZE = 50_000;
+    private static final ClassificationCache CACHE = new ClassificationCache(CACHE_SIZE);
+
+    private static final int HISTORY_MAX_TOKENS = 200_000;
+    private static final int CORRECTION_WEIGHT = 5;
+    private static final TokenCategoryIndex HISTORY = new TokenCategoryIndex(HISTORY_MAX_TOKENS);
+
+    // po RULES – inicjalizacja statyczna idzie w kolejności deklaracji
+    private static volatile RuleSet ruleSet = new RuleSet(RULES);
 }
@@ -0,0 +1,96 @@
+package pl.mifi.account.infrastruture;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizacja tytułu do porównań (klasyfikacja, deduplikacja): ucięcie "DATA TRANSAKCJI...",
+ * usunięcie ogonków, wszystko poza literami/cyframi ASCII jako pojedyncza spacja, wielkie litery.
+ *
+ * Jedna pętla po znakach z tablicą dla całego BMP. Tablica budowana jest przy starcie tym samym
+ * przepisem co wcześniej (NFD + usunięcie znaków łączących), znak po znaku – więc wynik jest
+ * identyczny z dawnym łańcuchem {@code Normalizer + replaceAll + toUpperCase}, tylko bez regexów
+ * i pośrednich Stringów. Znaki rozkładające się na kilka liter (np. Hangul) oraz spoza BMP
+ * idą wolną ścieżką przez {@link Normalizer}.
+ */
+public final class TitleNormalizer {
+
+    private static final String CUT_MARKER = "DATA TRANSAKCJI";
+
+    // wartości tablicy poza literą/cyfrą
+    private static final char SEPARATOR = 0;
+    private static final char DROPPED = 1;
+    private static final char COMPLEX = 2;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final char[] FOLD = buildTable();
+
+    private TitleNormalizer() {
+    }
+
+    public static String normalize(String raw) {
+        if (raw == null) return "";
+        int end = raw.indexOf(CUT_MARKER);
+        if (end < 0) end = raw.length();
+
+        StringBuilder out = new StringBuilder(end);
+        boolean pendingSpace = false;
+        for (int i = 0; i < end; i++) {
+            char c = raw.charAt(i);
+            char folded = FOLD[c];
+            if (folded > COMPLEX) {
+                if (pendingSpace && !out.isEmpty()) out.append(' ');
+                pendingSpace = false;
+                out.append(folded);
+            } else if (folded == SEPARATOR) {
+                pendingSpace = true;
+            } else if (folded == COMPLEX) {
+                int cp = Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(raw.charAt(i + 1))
+                        ? Character.toCodePoint(c, raw.charAt(++i))
+                        : c;
+                for (char d : decompose(cp).toCharArray()) {
+                    char f = classify(d);
+                    if (f > COMPLEX) {
+                        if (pendingSpace && !out.isEmpty()) out.append(' ');
+                        pendingSpace = false;
+                        out.append(f);
+                    } else if (f == SEPARATOR) {
+                        pendingSpace = true;
+                    }
+                }
+            }
+            // DROPPED: znak łączący – znika bez śladu, sąsiednie litery się sklejają
+        }
+        return out.toString();
+    }
+
+    // ---- tablica ----
+
+    private static char[] buildTable() {
+        char[] table = new char[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (Character.isSurrogate((char) c)) {
+                table[c] = COMPLEX;
+                continue;
+            }
+            String d = decompose(c);
+            if (d.isEmpty()) table[c] = DROPPED;
+            else if (d.length() == 1) table[c] = classify(d.charAt(0));
+            else table[c] = COMPLEX;
+        }
+        return table;
+    }
+
+    /** Dawny przepis dla jednego znaku: NFD i usunięcie znaków łączących. */
+    private static String decompose(int codePoint) {
+        String nfd = Normalizer.normalize(new String(Character.toChars(codePoint)), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(nfd).replaceAll("");
+    }
+
+    /** Litera/cyfra ASCII -> wielka litera/cyfra, reszta -> separator. */
+    private static char classify(char c) {
+        if (c >= 'a' && c <= 'z') return (char) (c - 'a' + 'A');
+        if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) return c;
+        return SEPARATOR;
+    }
+}
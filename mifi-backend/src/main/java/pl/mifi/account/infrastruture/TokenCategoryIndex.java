@@ -0,0 +1,141 @@
+package pl.mifi.account.infrastruture;
+
+import pl.mifi.account.domain.TransactionCategory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Indeks odwrotny: słowo znormalizowanego tytułu -> liczniki kategorii, w których wystąpiło.
+ * Drugi etap klasyfikacji dla tytułów, których nie łapie żadna reguła.
+ *
+ * Nauka i ocena bez blokad (liczniki atomowe), ocena to jedno przejście po słowach tytułu –
+ * O(słowa × kategorie). Słowo głosuje rozkładem swoich kategorii z wagą idf, więc słowa
+ * występujące wszędzie (miasta, "PLATNOSC", "KARTA") prawie się nie liczą. Wynik tylko przy
+ * dostatecznej przewadze zwycięzcy; inaczej UNKNOWN.
+ *
+ * Te same nieznane tytuły wracają w każdym wyciągu, więc wynik oceny jest zapamiętywany i liczony
+ * od nowa dopiero, gdy indeks urośnie o ponad 1% (albo po ręcznej poprawce) – import płaci za ocenę
+ * raz na tytuł, a nie raz na wiersz.
+ */
+final class TokenCategoryIndex {
+
+    private static final TransactionCategory[] CATEGORIES = TransactionCategory.values();
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int MIN_SUPPORT = 2;           // słowo widziane raz to jeszcze przypadek
+    private static final double MIN_CONFIDENCE = 0.6;   // udział zwycięzcy w sumie punktów
+
+    private static final int STALE_PERCENT = 1;
+
+    private final int maxTokens;
+    private final Map<String, TokenStats> tokens = new ConcurrentHashMap<>();
+    private final AtomicLong documents = new AtomicLong();
+    private final Map<String, Suggestion> suggestions = new ConcurrentHashMap<>();
+
+    TokenCategoryIndex(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    private record Suggestion(TransactionCategory category, long documents) {
+    }
+
+    /** Dopisuje tytuł z kategorią; {@code weight} > 1 dla ręcznych poprawek. */
+    void learn(String normalizedTitle, TransactionCategory category, int weight) {
+        if (category == TransactionCategory.UNKNOWN || normalizedTitle.isEmpty()) return;
+        documents.addAndGet(weight);
+        int from = 0;
+        while (from < normalizedTitle.length()) {
+            int to = tokenEnd(normalizedTitle, from);
+            if (isToken(normalizedTitle, from, to)) {
+                String token = normalizedTitle.substring(from, to);
+                TokenStats stats = tokens.get(token);
+                if (stats == null) {
+                    if (tokens.size() >= maxTokens) {
+                        from = to + 1;
+                        continue;                               // pełny indeks – znane słowa dalej się uczą
+                    }
+                    stats = tokens.computeIfAbsent(token, t -> new TokenStats());
+                }
+                stats.counts.addAndGet(category.ordinal(), weight);
+                stats.total.addAndGet(weight);
+            }
+            from = to + 1;
+        }
+        if (weight > 1) suggestions.clear();                    // poprawka ma działać od razu
+    }
+
+    TransactionCategory suggest(String normalizedTitle) {
+        long docs = documents.get();
+        if (docs == 0 || normalizedTitle.isEmpty()) return TransactionCategory.UNKNOWN;
+
+        Suggestion known = suggestions.get(normalizedTitle);
+        if (known != null && (docs - known.documents()) * 100 <= known.documents() * STALE_PERCENT) {
+            return known.category();
+        }
+        TransactionCategory category = score(normalizedTitle, docs);
+        if (suggestions.size() >= maxTokens) suggestions.clear();
+        suggestions.put(normalizedTitle, new Suggestion(category, docs));
+        return category;
+    }
+
+    private TransactionCategory score(String normalizedTitle, long docs) {
+        double[] scores = null;
+        int from = 0;
+        while (from < normalizedTitle.length()) {
+            int to = tokenEnd(normalizedTitle, from);
+            TokenStats stats = isToken(normalizedTitle, from, to) ? lookup(normalizedTitle, from, to) : null;
+            from = to + 1;
+            if (stats == null) continue;
+            int total = stats.total.get();
+            if (total < MIN_SUPPORT) continue;
+
+            if (scores == null) scores = new double[CATEGORIES.length];
+            double idf = Math.log(1.0 + (double) docs / total);
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                int n = stats.counts.get(c);
+                if (n != 0) scores[c] += idf * n / total;
+            }
+        }
+        if (scores == null) return TransactionCategory.UNKNOWN;
+
+        int best = -1;
+        double sum = 0;
+        for (int c = 0; c < scores.length; c++) {
+            sum += scores[c];
+            if (best < 0 || scores[c] > scores[best]) best = c;
+        }
+        return sum > 0 && scores[best] / sum >= MIN_CONFIDENCE ? CATEGORIES[best] : TransactionCategory.UNKNOWN;
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private TokenStats lookup(String title, int from, int to) {
+        return tokens.get(from == 0 && to == title.length() ? title : title.substring(from, to));
+    }
+
+    // znormalizowany tytuł: słowa rozdzielone pojedynczą spacją
+    private static int tokenEnd(String title, int from) {
+        int space = title.indexOf(' ', from);
+        return space < 0 ? title.length() : space;
+    }
+
+    // numery (kart, terminali, dat) nie mówią nic o kategorii – słowo musi mieć literę
+    private static boolean isToken(String title, int from, int to) {
+        if (to - from < MIN_TOKEN_LENGTH) return false;
+        for (int i = from; i < to; i++) {
+            char c = title.charAt(i);
+            if (c >= 'A' && c <= 'Z') return true;
+        }
+        return false;
+    }
+
+    private static final class TokenStats {
+        final AtomicIntegerArray counts = new AtomicIntegerArray(CATEGORIES.length);
+        final AtomicInteger total = new AtomicInteger();
+    }
+}
@@ -0,0 +1,40 @@
+package pl.mifi.account.infrastruture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Zapis samych kategorii po id – batch JDBC zamiast ładowania encji i dirty checkingu,
+ * przy przeklasyfikowaniu zmienia się jedna kolumna w tysiącach wierszy.
+ *
+ * Wiersz, któremu użytkownik nadał kategorię ręcznie, nie jest nadpisywany – także gdy zmiana
+ * przyszła między odczytem paczki a zapisem.
+ */
+@Component
+public class TransactionCategoryWriter {
+
+    private static final String UPDATE = "update transaction set category = ? where id = ? and category_source is distinct from 'MANUAL'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public TransactionCategoryWriter(JdbcTemplate jdbcTemplate,
+                                     @Value("${mifi.reclassify.write-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public record CategoryChange(Long id, String category) {
+    }
+
+    /** Wymaga transakcji wywołującego – cała lista idzie jednym commitem. */
+    public void update(List<CategoryChange> changes) {
+        jdbcTemplate.batchUpdate(UPDATE, changes, batchSize, (ps, change) -> {
+            ps.setString(1, change.category());
+            ps.setLong(2, change.id());
+        });
+    }
+}
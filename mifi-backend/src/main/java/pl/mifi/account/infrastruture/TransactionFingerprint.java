@@ -0,0 +1,145 @@
+package pl.mifi.account.infrastruture;
+
+import pl.mifi.account.domain.Transaction;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Odcisk transakcji do deduplikacji: (dzień kalendarzowy, kwota bez zer końcowych, znormalizowany tytuł)
+ * zwinięte MurmurHash3 x64/128 do 16 bajtów. Trzymany jako {@link UUID}, bo Postgres zapisuje go natywnie
+ * w kolumnie uuid.
+ *
+ * Dzień, nie chwila: wiersze wyciągów mają samą datę, a daty zapisane są jako północ w strefie serwera –
+ * po zmianie strefy ta sama data to inna chwila, ale wciąż ten sam dzień. Odcisk ma wersję UUID
+ * {@value #VERSION}, więc odciski liczone wcześniej od chwili (bez wersji) da się odróżnić i przeliczyć.
+ */
+public final class TransactionFingerprint {
+
+    /** Wersja UUID (8 = format własny) odcisków liczonych od dnia kalendarzowego. */
+    public static final int VERSION = 8;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault(); // jak w CsvDecoders.toDate
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private TransactionFingerprint() {
+    }
+
+    public static UUID of(Transaction t) {
+        return of(t.getDate(), t.getAmount(), t.getTitle());
+    }
+
+    public static UUID of(Date date, BigDecimal amount, String title) {
+        String key = (date == null ? "?" : String.valueOf(epochDay(date)))
+                + '|' + (amount == null ? "0" : amount.stripTrailingZeros().toPlainString())
+                + '|' + TitleNormalizer.normalize(title);
+        return versioned(murmur3(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Czy odcisk policzono bieżącym algorytmem. */
+    public static boolean isCurrent(UUID fingerprint) {
+        return fingerprint != null && fingerprint.version() == VERSION;
+    }
+
+    // java.sql.Date z Hibernate nie obsługuje toInstant() – stąd przez milisekundy
+    private static long epochDay(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZONE).toLocalDate().toEpochDay();
+    }
+
+    /** Bity wersji i wariantu (RFC 9562) nadpisują 6 ze 128 bitów skrótu. */
+    private static UUID versioned(UUID hash) {
+        long msb = hash.getMostSignificantBits() & ~0xF000L | (long) VERSION << 12;
+        long lsb = hash.getLeastSignificantBits() & ~(0b11L << 62) | 0b10L << 62;
+        return new UUID(msb, lsb);
+    }
+
+    // ---- MurmurHash3 x64 128, seed 0 ----
+
+    // ogon algorytmu celowo przechodzi przez kolejne case'y – jak w referencyjnej implementacji
+    @SuppressWarnings("fallthrough")
+    private static UUID murmur3(byte[] data) {
+        int length = data.length;
+        int blocks = length / 16;
+        long h1 = 0;
+        long h2 = 0;
+
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLong(data, i * 16);
+            long k2 = getLong(data, i * 16 + 8);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        int tail = blocks * 16;
+        switch (length & 15) {
+            case 15: k2 ^= (long) (data[tail + 14] & 0xff) << 48;
+            case 14: k2 ^= (long) (data[tail + 13] & 0xff) << 40;
+            case 13: k2 ^= (long) (data[tail + 12] & 0xff) << 32;
+            case 12: k2 ^= (long) (data[tail + 11] & 0xff) << 24;
+            case 11: k2 ^= (long) (data[tail + 10] & 0xff) << 16;
+            case 10: k2 ^= (long) (data[tail + 9] & 0xff) << 8;
+            case 9:  k2 ^= data[tail + 8] & 0xff;
+                     h2 ^= mixK2(k2);
+            case 8:  k1 ^= (long) (data[tail + 7] & 0xff) << 56;
+            case 7:  k1 ^= (long) (data[tail + 6] & 0xff) << 48;
+            case 6:  k1 ^= (long) (data[tail + 5] & 0xff) << 40;
+            case 5:  k1 ^= (long) (data[tail + 4] & 0xff) << 32;
+            case 4:  k1 ^= (long) (data[tail + 3] & 0xff) << 24;
+            case 3:  k1 ^= (long) (data[tail + 2] & 0xff) << 16;
+            case 2:  k1 ^= (long) (data[tail + 1] & 0xff) << 8;
+            case 1:  k1 ^= data[tail] & 0xff;
+                     h1 ^= mixK1(k1);
+            default:
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new UUID(h1, h2);
+    }
+
+    private static long getLong(byte[] b, int i) {
+        return (b[i] & 0xffL) | (b[i + 1] & 0xffL) << 8 | (b[i + 2] & 0xffL) << 16 | (b[i + 3] & 0xffL) << 24
+                | (b[i + 4] & 0xffL) << 32 | (b[i + 5] & 0xffL) << 40 | (b[i + 6] & 0xffL) << 48 | (b[i + 7] & 0xffL) << 56;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,115 @@
+package pl.mifi.account.infrastruture;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import pl.mifi.account.domain.Transaction;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Które odciski transakcji są już w bazie. Przed bazą stoi filtr Blooma wszystkich zapisanych
+ * odcisków (~1,2 bajta na transakcję przy 1% fałszywych trafień): wiersze, których filtr nie zna,
+ * są na pewno nowe i nie kosztują zapytania. Resztę potwierdza jedno zapytanie po indeksie unikalnym.
+ *
+ * Filtr ładuje się w tle przy starcie; do tego czasu pytana jest baza o wszystko. Przy okazji
+ * uzupełniane są odciski wierszy zapisanych przed dodaniem kolumny i przeliczane odciski z dawnego
+ * algorytmu (patrz {@link TransactionFingerprint#isCurrent}). Jeśli ładowanie się nie uda,
+ * deduplikacja dalej działa przez bazę, a stan i powód widać w {@link #status()}
+ * (GET /metrics/import/fingerprint-filter).
+ */
+@Component
+public class TransactionFingerprints {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final String SET_FINGERPRINT = "update transaction set fingerprint = ? where id = ?";
+
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final BloomFilter filter;
+    private final LongAdder loaded = new LongAdder();
+    private volatile FingerprintFilterStatus.State state = FingerprintFilterStatus.State.LOADING;
+    private volatile String error;
+
+    public TransactionFingerprints(TransactionRepository transactionRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Value("${mifi.import.fingerprint-filter-capacity:2000000}") long capacity,
+                                   @Value("${mifi.reclassify.chunk-size:5000}") int chunkSize) {
+        this.transactionRepository = transactionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.filter = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+    }
+
+    @PostConstruct
+    public void start() {
+        Thread.ofVirtual().name("fingerprint-filter").start(() -> {
+            try {
+                backfill();
+                load();
+                state = FingerprintFilterStatus.State.READY;
+            } catch (RuntimeException ex) {
+                // bez filtra deduplikacja działa dalej – każdy odcisk sprawdza baza
+                error = ex.getMessage() != null ? ex.getMessage() : ex.toString();
+                state = FingerprintFilterStatus.State.FAILED;
+            }
+        });
+    }
+
+    /** Odciski z listy, które już są w bazie. */
+    public Set<UUID> existing(Collection<UUID> fingerprints) {
+        List<UUID> maybe = new ArrayList<>();
+        for (UUID fingerprint : fingerprints) {
+            if (state != FingerprintFilterStatus.State.READY || mightContain(fingerprint)) maybe.add(fingerprint);
+        }
+        return maybe.isEmpty() ? Set.of() : transactionRepository.findExistingFingerprints(maybe);
+    }
+
+    /** Zapisany odcisk – od teraz filtr odsyła go do bazy. */
+    public void added(UUID fingerprint) {
+        filter.add(fingerprint.getMostSignificantBits(), fingerprint.getLeastSignificantBits());
+    }
+
+    public FingerprintFilterStatus status() {
+        return new FingerprintFilterStatus(state, loaded.sum(), filter.sizeBytes(), error);
+    }
+
+    private boolean mightContain(UUID fingerprint) {
+        return filter.mightContain(fingerprint.getMostSignificantBits(), fingerprint.getLeastSignificantBits());
+    }
+
+    private void load() {
+        UUID after = new UUID(0, 0);
+        List<UUID> chunk;
+        while (!(chunk = transactionRepository.findFingerprintsAfter(after, Limit.of(chunkSize))).isEmpty()) {
+            chunk.forEach(this::added);
+            loaded.add(chunk.size());
+            after = chunk.get(chunk.size() - 1);
+        }
+    }
+
+    /**
+     * Wiersze bez bieżącego odcisku; powtórki (np. ręcznie dodane dwa razy) zostają przy dawnym
+     * odcisku albo bez niego – i tak nie pasują do żadnego nowego.
+     */
+    private void backfill() {
+        long afterId = 0;
+        List<Transaction> chunk;
+        while (!(chunk = transactionRepository.findWithoutCurrentFingerprintAfter(afterId, Limit.of(chunkSize))).isEmpty()) {
+            Map<UUID, Long> fresh = new LinkedHashMap<>();
+            for (Transaction t : chunk) fresh.putIfAbsent(TransactionFingerprint.of(t), t.getId());
+            fresh.keySet().removeAll(transactionRepository.findExistingFingerprints(fresh.keySet()));
+
+            List<Map.Entry<UUID, Long>> updates = new ArrayList<>(fresh.entrySet());
+            jdbcTemplate.batchUpdate(SET_FINGERPRINT, updates, updates.size(), (ps, e) -> {
+                ps.setObject(1, e.getKey());
+                ps.setLong(2, e.getValue());
+            });
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package pl.mifi.account.infrastruture;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import pl.mifi.account.domain.Transaction;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Wstawianie paczki transakcji z odciskami jednym poleceniem: {@code on conflict (fingerprint) do nothing}
+ * zamiast sprawdzenia i wstawienia. Dwa importy nakładających się wyciągów naraz (upload, katalog,
+ * kilka banków równolegle) nie wycofują całego pliku na indeksie unikalnym – drugi po prostu pomija
+ * wiersze, które pierwszy zdążył zapisać.
+ *
+ * Kolumny idą tablicami przez {@code unnest}, więc paczka to jedno polecenie niezależnie od rozmiaru;
+ * id z tej samej sekwencji co przy zapisie przez Hibernate. Wymaga transakcji wywołującego.
+ */
+@Component
+public class TransactionInserter {
+
+    private static final String INSERT = """
+            insert into transaction (id, account, amount, bank, category, category_source, date, description,
+                                     fingerprint, title, type)
+            select nextval('transaction_seq'), r.*
+            from unnest(?::text[], ?::numeric[], ?::smallint[], ?::text[], ?::text[], ?::timestamp[], ?::text[],
+                        ?::uuid[], ?::text[], ?::text[])
+                 as r(account, amount, bank, category, category_source, date, description, fingerprint, title, type)
+            on conflict (fingerprint) do nothing
+            returning fingerprint""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Odciski faktycznie wstawionych wierszy; pozostałe były już w bazie. Każdy wiersz musi mieć odcisk. */
+    public Set<UUID> insertNew(List<Transaction> rows) {
+        if (rows.isEmpty()) return Set.of();
+        int n = rows.size();
+        String[] account = new String[n];
+        BigDecimal[] amount = new BigDecimal[n];
+        Short[] bank = new Short[n];
+        String[] category = new String[n];
+        String[] categorySource = new String[n];
+        Timestamp[] date = new Timestamp[n];
+        String[] description = new String[n];
+        UUID[] fingerprint = new UUID[n];
+        String[] title = new String[n];
+        String[] type = new String[n];
+        for (int i = 0; i < n; i++) {
+            Transaction t = rows.get(i);
+            account[i] = t.getAccount();
+            amount[i] = t.getAmount();
+            bank[i] = t.getBank() == null ? null : (short) t.getBank().ordinal();
+            category[i] = t.getCategory();
+            categorySource[i] = t.getCategorySource() == null ? null : t.getCategorySource().name();
+            date[i] = t.getDate() == null ? null : new Timestamp(t.getDate().getTime());
+            description[i] = t.getDescription();
+            fingerprint[i] = t.getFingerprint();
+            title[i] = t.getTitle();
+            type[i] = t.getType();
+        }
+
+        return jdbcTemplate.execute((Connection con) -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT)) {
+                ps.setArray(1, con.createArrayOf("text", account));
+                ps.setArray(2, con.createArrayOf("numeric", amount));
+                ps.setArray(3, con.createArrayOf("int2", bank));
+                ps.setArray(4, con.createArrayOf("text", category));
+                ps.setArray(5, con.createArrayOf("text", categorySource));
+                ps.setArray(6, con.createArrayOf("timestamp", date));
+                ps.setArray(7, con.createArrayOf("text", description));
+                ps.setArray(8, con.createArrayOf("uuid", fingerprint));
+                ps.setArray(9, con.createArrayOf("text", title));
+                ps.setArray(10, con.createArrayOf("text", type));
+                return inserted(ps);
+            }
+        });
+    }
+
+    private static Set<UUID> inserted(PreparedStatement ps) throws SQLException {
+        Set<UUID> inserted = new HashSet<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) inserted.add(rs.getObject(1, UUID.class));
+        }
+        return inserted;
+    }
+}
@@ -1,9 +1,44 @@
 package pl.mifi.account.infrastruture;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import pl.mifi.account.domain.Transaction;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, String> {
+public interface TransactionRepository extends JpaRepository<Transaction, String>, TransactionSearchRepository {
+
+    @Query("select t.fingerprint from Transaction t where t.fingerprint in :fingerprints")
+    Set<UUID> findExistingFingerprints(@Param("fingerprints") Collection<UUID> fingerprints);
+
+    /** Keyset po odcisku – idzie po indeksie unikalnym, bez czytania wierszy. */
+    @Query("select t.fingerprint from Transaction t where t.fingerprint > :after order by t.fingerprint")
+    List<UUID> findFingerprintsAfter(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Wiersze bez odcisku albo z odciskiem liczonym dawnym algorytmem – bez wersji
+     * {@link TransactionFingerprint#VERSION} (15. znak tekstowej postaci UUID).
+     */
+    @Query("select t from Transaction t where t.id > :afterId and (t.fingerprint is null "
+            + "or substring(cast(t.fingerprint as String), 15, 1) <> '" + TransactionFingerprint.VERSION + "') order by t.id")
+    List<Transaction> findWithoutCurrentFingerprintAfter(@Param("afterId") long afterId, Limit limit);
+
+    /** Keyset po id: kolejna paczka po {@code afterId}, bez OFFSET – każda paczka kosztuje tyle samo. */
+    @Query("select new pl.mifi.account.infrastruture.TransactionTitle(t.id, t.title, t.category) "
+            + "from Transaction t where t.id > :afterId order by t.id")
+    List<TransactionTitle> findTitlesAfter(@Param("afterId") long afterId, Limit limit);
+
+    /** Jak {@link #findTitlesAfter}, ale bez wierszy z kategorią nadaną ręcznie – tych przeklasyfikowanie nie dotyka. */
+    @Query("select new pl.mifi.account.infrastruture.TransactionTitle(t.id, t.title, t.category) "
+            + "from Transaction t where t.id > :afterId "
+            + "and (t.categorySource is null or t.categorySource <> pl.mifi.account.domain.CategorySource.MANUAL) "
+            + "order by t.id")
+    List<TransactionTitle> findRuleCategorizedTitlesAfter(@Param("afterId") long afterId, Limit limit);
 }
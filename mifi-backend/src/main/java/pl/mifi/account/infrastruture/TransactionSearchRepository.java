@@ -0,0 +1,26 @@
+package pl.mifi.account.infrastruture;
+
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.domain.TransactionFilter;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Lista transakcji z filtrami i stronicowaniem keyset – zapytanie składane z tego, co podano. */
+public interface TransactionSearchRepository {
+
+    /** Klucz sortowania (data, kwota, id) ostatniego wiersza poprzedniej strony. */
+    record PageKey(Date date, BigDecimal amount, long id) {
+    }
+
+    /** Do {@code limit} transakcji od najnowszych; {@code after == null} – pierwsza strona. */
+    List<Transaction> search(TransactionFilter filter, PageKey after, int limit);
+
+    /**
+     * Wszystkie pasujące transakcje w tej samej kolejności, czytane kursorem bazy po {@code fetchSize}
+     * wierszy. Wymaga otwartej transakcji; strumień trzeba zamknąć.
+     */
+    Stream<Transaction> stream(TransactionFilter filter, int fetchSize);
+}
@@ -0,0 +1,99 @@
+package pl.mifi.account.infrastruture;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.domain.TransactionFilter;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Warunki trafiają do HQL tylko dla podanych kryteriów – bez {@code (:p is null or ...)}, przy których
+ * plan generyczny Postgresa przestaje używać indeksów. Kolejność (data, kwota, id) malejąco zgadza się
+ * z indeksami: idx_transaction_date_amount_id dla zakresu dat, idx_transaction_category_date
+ * i idx_transaction_bank_date dla kategorii/banku – skan indeksu kończy się po {@code limit} wierszach.
+ */
+class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault(); // daty z wyciągów zapisywane są w strefie systemu
+
+    private final EntityManager entityManager;
+
+    TransactionSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Transaction> search(TransactionFilter filter, PageKey after, int limit) {
+        return query(filter, after).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Bez {@code fetchSize} sterownik Postgresa wczytałby cały wynik do pamięci; z nim (w transakcji)
+     * otwiera kursor po stronie serwera. Tylko do odczytu – Hibernate nie trzyma kopii do dirty checkingu.
+     */
+    @Override
+    public Stream<Transaction> stream(TransactionFilter filter, int fetchSize) {
+        return query(filter, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<Transaction> query(TransactionFilter filter, PageKey after) {
+        StringBuilder hql = new StringBuilder("select t from Transaction t where t.date is not null and t.amount is not null");
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (filter.from() != null) {
+            hql.append(" and t.date >= :from");
+            params.put("from", startOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            hql.append(" and t.date < :toExclusive");
+            params.put("toExclusive", startOf(filter.to().plusDays(1)));
+        }
+        if (filter.category() != null) {
+            hql.append(" and t.category = :category");
+            params.put("category", filter.category());
+        }
+        if (filter.bank() != null) {
+            hql.append(" and t.bank = :bank");
+            params.put("bank", filter.bank());
+        }
+        if (filter.type() != null) {
+            hql.append(" and t.type = :type");
+            params.put("type", filter.type());
+        }
+        if (filter.minAmount() != null) {
+            hql.append(" and t.amount >= :minAmount");
+            params.put("minAmount", filter.minAmount());
+        }
+        if (filter.maxAmount() != null) {
+            hql.append(" and t.amount <= :maxAmount");
+            params.put("maxAmount", filter.maxAmount());
+        }
+        if (after != null) {
+            // porównanie krotek – Postgres zaczyna skan indeksu od razu za kluczem
+            hql.append(" and (t.date, t.amount, t.id) < (:afterDate, :afterAmount, :afterId)");
+            params.put("afterDate", after.date());
+            params.put("afterAmount", after.amount());
+            params.put("afterId", after.id());
+        }
+        hql.append(" order by t.date desc, t.amount desc, t.id desc");
+
+        TypedQuery<Transaction> query = entityManager.createQuery(hql.toString(), Transaction.class);
+        params.forEach(query::setParameter);
+        return query;
+    }
+
+    private static Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZONE).toInstant());
+    }
+}
@@ -0,0 +1,5 @@
+package pl.mifi.account.infrastruture;
+
+/** Sam tytuł i kategoria transakcji – do przeklasyfikowania bez ładowania encji. */
+public record TransactionTitle(Long id, String title, String category) {
+}
@@ -0,0 +1,216 @@
+package pl.mifi.account.infrastruture.csv;
+
+import pl.mifi.account.domain.Bank;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Deklaratywny opis eksportu CSV jednego banku: plik, kodowanie, nagłówek i mapowanie kolumn
+ * na pola {@link pl.mifi.account.domain.Transaction}. Nie zawiera logiki parsowania –
+ * {@link BankFormatReader} kompiluje go raz na plik do dekodera wierszy po indeksach.
+ *
+ * Listy kolumn oznaczają "pierwsza niepusta wartość" (np. data księgowania, a gdy jej brak – data operacji).
+ */
+public record BankFormat(Bank bank,
+                         Pattern fileName,
+                         Charset charset,
+                         char delimiter,
+                         boolean quoted,
+                         HeaderLayout header,
+                         List<String> dateColumns,
+                         List<String> amountColumns,
+                         SignConvention sign,
+                         List<String> titleColumns,
+                         List<String> titleLabels,
+                         List<String> accountColumns,
+                         Set<String> unquotedColumns,
+                         List<String> skipWhenBlank,
+                         List<DescriptionPart> description) {
+
+    public static Builder of(Bank bank) {
+        return new Builder(bank);
+    }
+
+    /** Jak znaleźć nagłówek w pliku. */
+    public sealed interface HeaderLayout {
+        /** Nagłówek w pierwszej linii. */
+        record FirstLine() implements HeaderLayout {
+        }
+
+        /** Pierwsza linia zawierająca którykolwiek ze znaczników (np. po wstępie z danymi rachunku). */
+        record LineContaining(List<String> markers) implements HeaderLayout {
+        }
+
+        /** Plik bez nagłówka: pomija {@code skipLines} linii, kolumny nazwane w opisie. */
+        record Positional(int skipLines, List<String> columns) implements HeaderLayout {
+        }
+    }
+
+    public enum SignConvention {
+        /** Jedna kolumna, wydatki ujemne. */
+        SIGNED,
+        /** Dwie kolumny [obciążenie, uznanie], obie dodatnie; kwota = uznanie - obciążenie. */
+        DEBIT_CREDIT
+    }
+
+    /** Fragment opisu transakcji; niepuste fragmenty łączone są " | ". */
+    public sealed interface DescriptionPart {
+        /** {@code prefix + wartość kolumny}. */
+        record Column(String column, String prefix) implements DescriptionPart {
+        }
+
+        /** {@code wartość + " " + wartość drugiej kolumny} (np. typ operacji i waluta). */
+        record Joined(String column, String suffixColumn) implements DescriptionPart {
+        }
+
+        /** Końcówka wartości od znacznika włącznie (np. "DATA TRANSAKCJI: ..." z tytułu). */
+        record FromMarker(String column, String marker) implements DescriptionPart {
+        }
+
+        /** Wszystkie niepuste kolumny bez nazwy w nagłówku (szczegóły rozlane na kolejne pola). */
+        record Unnamed() implements DescriptionPart {
+        }
+
+        static DescriptionPart column(String column) {
+            return new Column(column, "");
+        }
+
+        static DescriptionPart labeled(String prefix, String column) {
+            return new Column(column, prefix);
+        }
+
+        static DescriptionPart joined(String column, String suffixColumn) {
+            return new Joined(column, suffixColumn);
+        }
+
+        static DescriptionPart fromMarker(String column, String marker) {
+            return new FromMarker(column, marker);
+        }
+
+        static DescriptionPart unnamed() {
+            return new Unnamed();
+        }
+    }
+
+    public static final class Builder {
+        private final Bank bank;
+        private Pattern fileName;
+        private Charset charset;
+        private char delimiter = ';';
+        private boolean quoted;
+        private HeaderLayout header = new HeaderLayout.FirstLine();
+        private List<String> dateColumns = List.of();
+        private List<String> amountColumns = List.of();
+        private SignConvention sign = SignConvention.SIGNED;
+        private List<String> titleColumns = List.of();
+        private List<String> titleLabels = List.of();
+        private List<String> accountColumns = List.of();
+        private Set<String> unquotedColumns = Set.of();
+        private List<String> skipWhenBlank = List.of();
+        private final List<DescriptionPart> description = new ArrayList<>();
+
+        private Builder(Bank bank) {
+            this.bank = bank;
+        }
+
+        public Builder fileName(String regex) {
+            this.fileName = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+            return this;
+        }
+
+        public Builder charset(Charset charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        /** Separator pól; {@code quoted} włącza obsługę wartości w cudzysłowach. */
+        public Builder delimiter(char delimiter, boolean quoted) {
+            this.delimiter = delimiter;
+            this.quoted = quoted;
+            return this;
+        }
+
+        public Builder headerInFirstLine() {
+            this.header = new HeaderLayout.FirstLine();
+            return this;
+        }
+
+        public Builder headerContaining(String... markers) {
+            this.header = new HeaderLayout.LineContaining(List.of(markers));
+            return this;
+        }
+
+        public Builder noHeader(int skipLines, String... columns) {
+            this.header = new HeaderLayout.Positional(skipLines, List.of(columns));
+            return this;
+        }
+
+        public Builder date(String... columns) {
+            this.dateColumns = List.of(columns);
+            return this;
+        }
+
+        public Builder amount(String column) {
+            this.amountColumns = List.of(column);
+            this.sign = SignConvention.SIGNED;
+            return this;
+        }
+
+        public Builder debitCredit(String debitColumn, String creditColumn) {
+            this.amountColumns = List.of(debitColumn, creditColumn);
+            this.sign = SignConvention.DEBIT_CREDIT;
+            return this;
+        }
+
+        public Builder title(String... columns) {
+            this.titleColumns = List.of(columns);
+            return this;
+        }
+
+        /**
+         * Gdy bank wpisuje szczegóły jako "Etykieta: wartość" w kolejnych kolumnach od kolumny tytułu:
+         * tytułem jest wartość pierwszej znalezionej etykiety (w kolejności podanej tutaj).
+         */
+        public Builder titleLabels(String... labels) {
+            this.titleLabels = List.of(labels);
+            return this;
+        }
+
+        public Builder account(String... columns) {
+            this.accountColumns = List.of(columns);
+            return this;
+        }
+
+        /** Kolumny, których wartości bank owija apostrofami (numery rachunków, referencje). */
+        public Builder unquoted(String... columns) {
+            this.unquotedColumns = Set.of(columns);
+            return this;
+        }
+
+        /** Wiersz jest pomijany (bez zgłoszenia), gdy wszystkie te kolumny są puste. */
+        public Builder skipWhenBlank(String... columns) {
+            this.skipWhenBlank = List.of(columns);
+            return this;
+        }
+
+        public Builder description(DescriptionPart... parts) {
+            this.description.addAll(List.of(parts));
+            return this;
+        }
+
+        public BankFormat build() {
+            Objects.requireNonNull(fileName, "fileName");
+            Objects.requireNonNull(charset, "charset");
+            if (dateColumns.isEmpty() || amountColumns.isEmpty() || titleColumns.isEmpty()) {
+                throw new IllegalStateException("Bank format " + bank + " needs date, amount and title columns");
+            }
+            return new BankFormat(bank, fileName, charset, delimiter, quoted, header, dateColumns, amountColumns,
+                    sign, titleColumns, titleLabels, accountColumns, unquotedColumns, skipWhenBlank, List.copyOf(description));
+        }
+    }
+}
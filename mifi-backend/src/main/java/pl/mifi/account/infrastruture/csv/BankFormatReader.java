@@ -0,0 +1,98 @@
+package pl.mifi.account.infrastruture.csv;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.csv.BankFormat.HeaderLayout;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CodingErrorAction;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Jeden silnik dla wszystkich banków: strumieniowe dekodowanie, odszukanie nagłówka według
+ * {@link HeaderLayout}, a potem każdy wiersz przez {@link RowDecoder} skompilowany dla tego nagłówka.
+ */
+final class BankFormatReader implements CsvTransactionReader {
+
+    private final BankFormat format;
+    private final CSVFormat csvFormat;
+
+    BankFormatReader(BankFormat format) {
+        this.format = format;
+        CSVFormat.Builder builder = CSVFormat.newFormat(format.delimiter()).builder().setTrim(true);
+        if (format.quoted()) builder.setQuote('"');
+        this.csvFormat = builder.get();
+    }
+
+    @Override
+    public boolean accepts(String fileName) {
+        return format.fileName().matcher(fileName).matches();
+    }
+
+    @Override
+    public void read(ReadableByteChannel source, Consumer<? super Transaction> sink,
+                     Consumer<? super ParseIssue> issues) throws IOException {
+        // dekodowanie porcjami, bez wczytywania całego pliku
+        BufferedReader br = new BufferedReader(Channels.newReader(source, format.charset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), -1));
+
+        String[] header = readHeader(br);
+        if (header == null) return;
+        RowDecoder decoder = RowDecoder.compile(format, header);
+
+        // nagłówek już odczytany – reszta strumienia to same rekordy
+        try (CSVParser parser = csvFormat.parse(br)) {
+            for (CSVRecord rec : parser) {
+                decoder.decode(rec, sink, issues);
+            }
+        }
+    }
+
+    private String[] readHeader(BufferedReader br) throws IOException {
+        return switch (format.header()) {
+            case HeaderLayout.FirstLine f -> {
+                String line = br.readLine();
+                yield line == null ? null : parseHeader(line);
+            }
+            case HeaderLayout.LineContaining c -> {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    if (containsAny(line, c.markers())) yield parseHeader(line);
+                }
+                yield null;
+            }
+            case HeaderLayout.Positional p -> {
+                for (int i = 0; i < p.skipLines(); i++) {
+                    if (br.readLine() == null) yield null;
+                }
+                yield p.columns().toArray(String[]::new);
+            }
+        };
+    }
+
+    private String[] parseHeader(String headerLine) throws IOException {
+        try (CSVParser parser = csvFormat.parse(new StringReader(stripBom(headerLine)))) {
+            List<CSVRecord> records = parser.getRecords();
+            return records.isEmpty() ? new String[0] : records.get(0).values();
+        }
+    }
+
+    private static boolean containsAny(String line, List<String> markers) {
+        for (String marker : markers) {
+            if (line.contains(marker)) return true;
+        }
+        return false;
+    }
+
+    private static String stripBom(String s) {
+        return (!s.isEmpty() && s.charAt(0) == '\uFEFF') ? s.substring(1) : s;
+    }
+}
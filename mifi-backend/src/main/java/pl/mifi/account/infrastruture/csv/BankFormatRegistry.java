@@ -0,0 +1,28 @@
+package pl.mifi.account.infrastruture.csv;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Czytniki wyciągów zbudowane z {@link BankFormats#ALL}; wybór po nazwie pliku, pierwszy pasujący wygrywa.
+ */
+@Component
+public class BankFormatRegistry {
+
+    private final List<BankFormatReader> readers = BankFormats.ALL.stream()
+            .map(BankFormatReader::new)
+            .toList();
+
+    public Optional<CsvTransactionReader> readerFor(String fileName) {
+        return readers.stream()
+                .filter(r -> r.accepts(fileName))
+                .<CsvTransactionReader>map(r -> r)
+                .findFirst();
+    }
+
+    public List<BankFormat> formats() {
+        return BankFormats.ALL;
+    }
+}
@@ -0,0 +1,92 @@
+package pl.mifi.account.infrastruture.csv;
+
+import pl.mifi.account.domain.Bank;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static pl.mifi.account.infrastruture.csv.BankFormat.DescriptionPart.*;
+
+/**
+ * Obsługiwane eksporty wyciągów. Nowy bank = nowy opis tutaj i wpis w {@link #ALL}.
+ */
+public final class BankFormats {
+
+    private static final Charset WINDOWS_1250 = Charset.forName("windows-1250");
+
+    /**
+     * mBank, np. 82004086_250901_250930.csv (końcówka rachunku + okres wyciągu).
+     * Przed nagłówkiem wstęp z danymi rachunku; kolumny z '#', data dd.MM.yyyy, przecinek dziesiętny.
+     */
+    public static final BankFormat MBANK = BankFormat.of(Bank.MBANK)
+            .fileName("\\d+_\\d{6}_\\d{6}\\.csv")
+            .charset(WINDOWS_1250)
+            .delimiter(';', false)
+            .headerContaining("#Data operacji", "#Data księgowania")
+            .date("#Data księgowania", "#Data operacji")
+            .amount("#Kwota")
+            .title("#Tytuł")
+            .account("#Numer konta")
+            .skipWhenBlank("#Kwota", "#Tytuł", "#Opis operacji")
+            .description(column("#Opis operacji"), column("#Nadawca/Odbiorca"),
+                    fromMarker("#Tytuł", "DATA TRANSAKCJI"))
+            .build();
+
+    /** PKO SA, np. Lista_operacji_20251001_170610.csv; nagłówek w pierwszej linii, rachunki w apostrofach. */
+    public static final BankFormat PKO_SA = BankFormat.of(Bank.PKO_SA)
+            .fileName("Lista_operacji_.*\\.csv")
+            .charset(WINDOWS_1250)
+            .delimiter(';', false)
+            .headerInFirstLine()
+            .date("Data księgowania", "Data waluty")
+            .amount("Kwota operacji")
+            .title("Nadawca / Odbiorca", "Tytułem")
+            .account("Rachunek źródłowy", "Rachunek docelowy")
+            .unquoted("Numer referencyjny", "Rachunek źródłowy", "Rachunek docelowy")
+            .skipWhenBlank("Nadawca / Odbiorca", "Tytułem", "Kwota operacji")
+            .description(labeled("Tytułem: ", "Tytułem"), labeled("Ref: ", "Numer referencyjny"),
+                    joined("Typ operacji", "Waluta"))
+            .build();
+
+    /**
+     * PKO BP (iPKO), np. history_csv_20251001_170610.csv. Wartości w cudzysłowach, data ISO,
+     * kwota ze znakiem ("+1500.00"); szczegóły operacji rozlane na kolumny bez nazwy.
+     */
+    public static final BankFormat PKO_BP = BankFormat.of(Bank.PKO_BP)
+            .fileName("history_csv_\\d{8}_\\d{6}\\.csv")
+            .charset(WINDOWS_1250)
+            .delimiter(',', true)
+            .headerInFirstLine()
+            .date("Data operacji", "Data waluty")
+            .amount("Kwota")
+            .title("Opis transakcji")
+            .titleLabels("Nazwa odbiorcy: ", "Nazwa nadawcy: ", "Lokalizacja: Adres: ", "Tytuł: ")
+            .skipWhenBlank("Kwota", "Opis transakcji")
+            .description(joined("Typ transakcji", "Waluta"), unnamed())
+            .build();
+
+    /**
+     * Santander, np. historia_2025-09-30_12345678.csv. Bez nagłówka – pierwsza linia to podsumowanie
+     * rachunku; data dd-MM-yyyy, kwota z przecinkiem dziesiętnym w cudzysłowach.
+     */
+    public static final BankFormat SANTANDER = BankFormat.of(Bank.SANTANDER)
+            .fileName("historia_\\d{4}-\\d{2}-\\d{2}_\\d+\\.csv")
+            .charset(StandardCharsets.UTF_8)
+            .delimiter(',', true)
+            .noHeader(1, "Data operacji", "Data księgowania", "Tytuł", "Nadawca/Odbiorca", "Rachunek",
+                    "Kwota", "Saldo", "Numer transakcji")
+            .date("Data księgowania", "Data operacji")
+            .amount("Kwota")
+            .title("Nadawca/Odbiorca", "Tytuł")
+            .account("Rachunek")
+            .unquoted("Rachunek")
+            .skipWhenBlank("Nadawca/Odbiorca", "Tytuł", "Kwota")
+            .description(labeled("Tytułem: ", "Tytuł"), labeled("Ref: ", "Numer transakcji"))
+            .build();
+
+    public static final List<BankFormat> ALL = List.of(MBANK, PKO_SA, PKO_BP, SANTANDER);
+
+    private BankFormats() {
+    }
+}
@@ -0,0 +1,46 @@
+package pl.mifi.account.infrastruture.csv;
+
+import org.apache.commons.csv.CSVRecord;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Nagłówek rozwiązany raz na plik: nazwa kolumny (bez BOM, po trim) -> indeks.
+ * Wiersze czytane są potem wyłącznie po indeksie – bez map i wyjątków per pole.
+ */
+final class CsvColumnPlan {
+
+    static final int MISSING = -1;
+
+    private final Map<String, Integer> indexByName;
+
+    private CsvColumnPlan(Map<String, Integer> indexByName) {
+        this.indexByName = indexByName;
+    }
+
+    static CsvColumnPlan of(String[] header) {
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i] == null ? "" : stripBom(header[i]).trim();
+            if (!name.isEmpty()) byName.putIfAbsent(name, i);
+        }
+        return new CsvColumnPlan(byName);
+    }
+
+    /** Indeks kolumny albo {@link #MISSING}. */
+    int index(String column) {
+        return indexByName.getOrDefault(column, MISSING);
+    }
+
+    /** Wartość po trim; brakująca kolumna albo krótszy wiersz daje "". */
+    static String get(CSVRecord record, int index) {
+        if (index < 0 || index >= record.size()) return "";
+        String v = record.get(index);
+        return v == null ? "" : v.trim();
+    }
+
+    private static String stripBom(String s) {
+        return (!s.isEmpty() && s.charAt(0) == '\uFEFF') ? s.substring(1) : s;
+    }
+}
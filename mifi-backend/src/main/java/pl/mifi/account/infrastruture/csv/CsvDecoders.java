@@ -0,0 +1,99 @@
+package pl.mifi.account.infrastruture.csv;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Jednoprzebiegowe dekodery wartości z polskich wyciągów – bez regexów, replace'ów i wyjątków.
+ * Niepoprawna wartość daje {@code null}; zgłoszenie błędu należy do wywołującego ({@link ParseIssue}).
+ */
+final class CsvDecoders {
+
+    private static final char NBSP = '\u00A0';
+    private static final int MAX_LONG_DIGITS = 18;
+    // strefa wyliczana raz, a nie przy każdym wierszu
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private CsvDecoders() {
+    }
+
+    /**
+     * Kwota w stylu "-1 234,56": spacja/NBSP/apostrof jako separator tysięcy, przecinek albo kropka
+     * dziesiętna, opcjonalny znak (minus albo plus) na początku. Cyfry trafiają wprost do wartości bez skali
+     * (grosze przy dwóch miejscach po przecinku), skala = liczba cyfr po separatorze.
+     */
+    static BigDecimal amount(String raw) {
+        if (raw == null) return null;
+        int end = raw.length();
+        int i = 0;
+        while (i < end && raw.charAt(i) <= ' ') i++;
+        while (end > i && raw.charAt(end - 1) <= ' ') end--;
+
+        boolean signed = false;
+        boolean negative = false;
+        boolean seenDigit = false;
+        int scale = -1; // -1 = jeszcze przed separatorem dziesiętnym
+        int digits = 0;
+        long unscaled = 0;
+        for (; i < end; i++) {
+            char c = raw.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_LONG_DIGITS) return null;
+                unscaled = unscaled * 10 + (c - '0');
+                seenDigit = true;
+                if (scale >= 0) scale++;
+            } else if (c == ' ' || c == NBSP || c == '\'') {
+                // separator tysięcy
+            } else if ((c == ',' || c == '.') && seenDigit && scale < 0) {
+                scale = 0;
+            } else if ((c == '-' || c == '+') && !seenDigit && !signed) {
+                signed = true;
+                negative = c == '-';
+            } else {
+                return null;
+            }
+        }
+        if (!seenDigit || scale == 0) return null;
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    /** {@code dd.MM.yyyy}, {@code dd-MM-yyyy} albo ISO {@code yyyy-MM-dd}; niepoprawna albo nieistniejąca data daje {@code null}. */
+    static LocalDate localDate(String raw) {
+        if (raw == null) return null;
+        String s = raw.strip();
+        if (s.length() != 10) return null;
+
+        int year, month, day;
+        char sep = s.charAt(2);
+        if ((sep == '.' || sep == '-') && s.charAt(5) == sep) {
+            day = digits(s, 0, 2);
+            month = digits(s, 3, 5);
+            year = digits(s, 6, 10);
+        } else if (s.charAt(4) == '-' && s.charAt(7) == '-') {
+            year = digits(s, 0, 4);
+            month = digits(s, 5, 7);
+            day = digits(s, 8, 10);
+        } else {
+            return null;
+        }
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) return null;
+        if (day > 28 && day > LocalDate.of(year, month, 1).lengthOfMonth()) return null;
+        return LocalDate.of(year, month, day);
+    }
+
+    static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZONE).toInstant());
+    }
+
+    private static int digits(String s, int from, int to) {
+        int v = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+}
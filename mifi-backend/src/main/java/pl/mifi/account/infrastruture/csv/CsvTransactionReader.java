@@ -2,10 +2,26 @@ package pl.mifi.account.infrastruture.csv;
 
 import pl.mifi.account.domain.Transaction;
 
-import java.io.InputStream;
-import java.util.List;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.function.Consumer;
 
 public interface CsvTransactionReader {
 
-    List<Transaction> read();
+    /** Czy plik o tej nazwie to wyciąg tego banku (np. domyślna nazwa eksportu). */
+    boolean accepts(String fileName);
+
+    /**
+     * Strumieniowe parsowanie wyciągu: bajty są dekodowane porcjami, a każda transakcja
+     * trafia do {@code sink} zaraz po sparsowaniu wiersza – pamięć nie rośnie z rozmiarem pliku.
+     * Kanału nie zamyka – to zadanie wywołującego.
+     *
+     * Wiersze z niepoprawną kwotą albo datą są pomijane i zgłaszane do {@code issues}.
+     */
+    void read(ReadableByteChannel source, Consumer<? super Transaction> sink,
+              Consumer<? super ParseIssue> issues) throws IOException;
+
+    default void read(ReadableByteChannel source, Consumer<? super Transaction> sink) throws IOException {
+        read(source, sink, issue -> { });
+    }
 }
@@ -0,0 +1,5 @@
+package pl.mifi.account.infrastruture.csv;
+
+/** Wiersz wyciągu pominięty przez niepoprawną wartość – zamiast wypisywania na stderr. */
+public record ParseIssue(long record, String column, String value, String reason) {
+}
@@ -0,0 +1,227 @@
+package pl.mifi.account.infrastruture.csv;
+
+import org.apache.commons.csv.CSVRecord;
+import pl.mifi.account.domain.CategorySource;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.TitleCategoryClassifier;
+import pl.mifi.account.infrastruture.csv.BankFormat.DescriptionPart;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link BankFormat} skompilowany dla konkretnego nagłówka: wszystkie nazwy kolumn zamienione
+ * na indeksy, więc wiersz dekodowany jest bez map, regexów i wyjątków.
+ */
+final class RowDecoder {
+
+    private static final String SEPARATOR = " | ";
+
+    private final BankFormat format;
+    private final int[] dateCols;
+    private final int[] amountCols;
+    private final int[] titleCols;
+    private final int[] accountCols;
+    private final int[] skipCols;
+    private final boolean[] unquoted;
+    private final boolean[] named;
+    private final List<Part> description;
+
+    private RowDecoder(BankFormat format, CsvColumnPlan plan, String[] header) {
+        this.format = format;
+        this.dateCols = indexes(plan, format.dateColumns());
+        this.amountCols = indexes(plan, format.amountColumns());
+        this.titleCols = indexes(plan, format.titleColumns());
+        this.accountCols = indexes(plan, format.accountColumns());
+        this.skipCols = indexes(plan, format.skipWhenBlank());
+
+        this.unquoted = new boolean[header.length];
+        for (String column : format.unquotedColumns()) {
+            int idx = plan.index(column);
+            if (idx >= 0) unquoted[idx] = true;
+        }
+        this.named = new boolean[header.length];
+        for (int i = 0; i < header.length; i++) {
+            named[i] = header[i] != null && !header[i].isBlank();
+        }
+        this.description = format.description().stream().map(p -> compile(p, plan)).toList();
+    }
+
+    static RowDecoder compile(BankFormat format, String[] header) {
+        return new RowDecoder(format, CsvColumnPlan.of(header), header);
+    }
+
+    void decode(CSVRecord rec, Consumer<? super Transaction> sink, Consumer<? super ParseIssue> issues) {
+        if (allBlank(rec, skipCols)) return;
+
+        BigDecimal amount = amount(rec, issues);
+        if (amount == null) return;
+
+        int dateIdx = firstNonBlank(rec, dateCols);
+        Date date;
+        if (dateIdx < 0) {
+            date = new Date(); // brak daty – dziś, jak dotąd
+        } else {
+            String dateRaw = value(rec, dateIdx);
+            LocalDate ld = CsvDecoders.localDate(dateRaw);
+            if (ld == null) {
+                issues.accept(new ParseIssue(rec.getRecordNumber(), columnName(format.dateColumns(), dateCols, dateIdx),
+                        dateRaw, "invalid date"));
+                return;
+            }
+            date = CsvDecoders.toDate(ld);
+        }
+
+        String title = title(rec).replace('\u00A0', ' ').trim(); // NBSP -> space
+        int accountIdx = firstNonBlank(rec, accountCols);
+
+        Transaction t = new Transaction();
+        t.setBank(format.bank());
+        t.setTitle(title);
+        t.setAmount(amount);
+        t.setType(amount.signum() < 0 ? "EXPENSE" : "INCOME");
+        t.setCategory(TitleCategoryClassifier.classify(title).name());
+        t.setCategorySource(CategorySource.RULE);
+        t.setAccount(accountIdx < 0 ? null : value(rec, accountIdx));
+        t.setDate(date);
+        t.setDescription(description(rec));
+        sink.accept(t);
+    }
+
+    private String title(CSVRecord rec) {
+        int titleIdx = firstNonBlank(rec, titleCols);
+        if (titleIdx < 0) return "";
+        for (String label : format.titleLabels()) {
+            for (int i = titleIdx; i < rec.size(); i++) {
+                String v = value(rec, i);
+                if (v.startsWith(label)) return v.substring(label.length());
+            }
+        }
+        return value(rec, titleIdx);
+    }
+
+    private BigDecimal amount(CSVRecord rec, Consumer<? super ParseIssue> issues) {
+        return switch (format.sign()) {
+            case SIGNED -> decodeAmount(rec, 0, issues);
+            case DEBIT_CREDIT -> {
+                BigDecimal debit = decodeAmount(rec, 0, issues);
+                if (debit == null) yield null;
+                BigDecimal credit = decodeAmount(rec, 1, issues);
+                yield credit == null ? null : credit.abs().subtract(debit.abs());
+            }
+        };
+    }
+
+    /** Pusta kwota to zero (jak dotąd); niepoprawna jest zgłaszana, a wiersz pomijany. */
+    private BigDecimal decodeAmount(CSVRecord rec, int which, Consumer<? super ParseIssue> issues) {
+        String raw = value(rec, amountCols[which]);
+        if (raw.isEmpty()) return BigDecimal.ZERO;
+        BigDecimal amount = CsvDecoders.amount(raw);
+        if (amount == null) {
+            issues.accept(new ParseIssue(rec.getRecordNumber(), format.amountColumns().get(which), raw, "invalid amount"));
+        }
+        return amount;
+    }
+
+    private String description(CSVRecord rec) {
+        StringBuilder sb = new StringBuilder();
+        for (Part part : description) {
+            part.append(rec, sb);
+        }
+        return sb.toString();
+    }
+
+    // ---- kompilacja fragmentów opisu ----
+
+    @FunctionalInterface
+    private interface Part {
+        void append(CSVRecord rec, StringBuilder out);
+    }
+
+    private Part compile(DescriptionPart part, CsvColumnPlan plan) {
+        return switch (part) {
+            case DescriptionPart.Column c -> {
+                int idx = plan.index(c.column());
+                String prefix = c.prefix();
+                yield (rec, out) -> {
+                    String v = value(rec, idx);
+                    if (!v.isEmpty()) add(out, prefix.isEmpty() ? v : prefix + v);
+                };
+            }
+            case DescriptionPart.Joined j -> {
+                int idx = plan.index(j.column());
+                int suffixIdx = plan.index(j.suffixColumn());
+                yield (rec, out) -> {
+                    String v = value(rec, idx);
+                    if (v.isEmpty()) return;
+                    String suffix = value(rec, suffixIdx);
+                    add(out, suffix.isEmpty() ? v : v + " " + suffix);
+                };
+            }
+            case DescriptionPart.FromMarker m -> {
+                int idx = plan.index(m.column());
+                String marker = m.marker();
+                yield (rec, out) -> {
+                    String v = value(rec, idx);
+                    int at = v.indexOf(marker);
+                    if (at >= 0) add(out, v.substring(at));
+                };
+            }
+            case DescriptionPart.Unnamed u -> (rec, out) -> {
+                for (int i = 0; i < rec.size(); i++) {
+                    if (i < named.length && named[i]) continue;
+                    String v = value(rec, i);
+                    if (!v.isEmpty()) add(out, v);
+                }
+            };
+        };
+    }
+
+    private static void add(StringBuilder out, String part) {
+        if (!out.isEmpty()) out.append(SEPARATOR);
+        out.append(part);
+    }
+
+    // ---- dostęp po indeksie ----
+
+    /** Wartość po trim (i bez apostrofów, jeśli kolumna tego wymaga); brak kolumny daje "". */
+    private String value(CSVRecord rec, int idx) {
+        String v = CsvColumnPlan.get(rec, idx);
+        return idx >= 0 && idx < unquoted.length && unquoted[idx] ? unquote(v) : v;
+    }
+
+    private int firstNonBlank(CSVRecord rec, int[] cols) {
+        for (int idx : cols) {
+            if (!value(rec, idx).isEmpty()) return idx;
+        }
+        return CsvColumnPlan.MISSING;
+    }
+
+    private boolean allBlank(CSVRecord rec, int[] cols) {
+        return cols.length > 0 && firstNonBlank(rec, cols) < 0;
+    }
+
+    private static String unquote(String s) {
+        if (s.startsWith("'")) s = s.substring(1);
+        if (s.endsWith("'")) s = s.substring(0, s.length() - 1);
+        return s.strip();
+    }
+
+    private static int[] indexes(CsvColumnPlan plan, List<String> columns) {
+        int[] idx = new int[columns.size()];
+        for (int i = 0; i < idx.length; i++) {
+            idx[i] = plan.index(columns.get(i));
+        }
+        return idx;
+    }
+
+    private static String columnName(List<String> names, int[] cols, int idx) {
+        for (int i = 0; i < cols.length; i++) {
+            if (cols[i] == idx) return names.get(i);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package pl.mifi.account.infrastruture.statements;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Odczyt pliku przez mapowanie pamięci, oknami po {@value #WINDOW_BYTES} bajtów –
+ * dane czytane są prosto ze stron page cache, a duże pliki nie wymagają jednego ogromnego mapowania.
+ * Odczyt z mapowania nie reaguje na przerwanie wątku, więc {@link #read} sprawdza je sam – jak
+ * {@link java.nio.channels.InterruptibleChannel}: zamyka kanał i rzuca {@link ClosedByInterruptException}.
+ */
+final class MappedFileChannel implements ReadableByteChannel {
+
+    private static final long WINDOW_BYTES = 64L * 1024 * 1024;
+
+    private final FileChannel file;
+    private final long size;
+    private long position;
+    private MappedByteBuffer window;
+
+    private MappedFileChannel(FileChannel file) throws IOException {
+        this.file = file;
+        this.size = file.size();
+    }
+
+    static MappedFileChannel open(Path path) throws IOException {
+        return new MappedFileChannel(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            close();
+            throw new ClosedByInterruptException();
+        }
+        if (!dst.hasRemaining()) return 0;
+        if (!nextWindowIfNeeded()) return -1;
+
+        int n = Math.min(dst.remaining(), window.remaining());
+        dst.put(dst.position(), window, window.position(), n);
+        dst.position(dst.position() + n);
+        window.position(window.position() + n);
+        position += n;
+        return n;
+    }
+
+    /** SHA-256 zawartości, liczony bezpośrednio na zmapowanych oknach. */
+    static String sha256(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (MappedFileChannel ch = open(path)) {
+            while (ch.nextWindowIfNeeded()) {
+                ch.position += ch.window.remaining();
+                digest.update(ch.window);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private boolean nextWindowIfNeeded() throws IOException {
+        if (window != null && window.hasRemaining()) return true;
+        if (position >= size) return false;
+        window = file.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_BYTES, size - position));
+        return true;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return file.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        file.close();
+    }
+}
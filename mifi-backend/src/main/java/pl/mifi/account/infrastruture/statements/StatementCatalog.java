@@ -0,0 +1,83 @@
+package pl.mifi.account.infrastruture.statements;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.mifi.account.infrastruture.csv.BankFormatRegistry;
+import pl.mifi.account.infrastruture.csv.CsvTransactionReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Katalog z wyciągami bankowymi (mifi.statements.dir).
+ *
+ * Pamięta (rozmiar, mtime) -> SHA-256 każdego pliku, więc niezmieniony plik nie jest nawet
+ * ponownie hashowany; o tym, czy zawartość była już zaimportowana, decyduje rejestr w bazie.
+ */
+@Component
+public class StatementCatalog {
+
+    private final Path root;
+    private final BankFormatRegistry formats;
+    private final Map<Path, StatementFile> stamps = new ConcurrentHashMap<>();
+
+    public StatementCatalog(@Value("${mifi.statements.dir:statements}") Path root,
+                            BankFormatRegistry formats) throws IOException {
+        this.root = Files.createDirectories(root.toAbsolutePath().normalize());
+        this.formats = formats;
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    public List<Path> files() {
+        try (Stream<Path> s = Files.list(root)) {
+            return s.filter(Files::isRegularFile).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list statements in " + root, e);
+        }
+    }
+
+    /** Rozmiar, mtime i hash pliku; hash liczony tylko, gdy rozmiar albo mtime się zmieniły. */
+    public StatementFile describe(Path file) {
+        Path key = file.toAbsolutePath().normalize();
+        return stamps.compute(key, (path, previous) -> {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                long size = attrs.size();
+                long modified = attrs.lastModifiedTime().toMillis();
+                if (previous != null && previous.size() == size && previous.modifiedMillis() == modified) {
+                    return previous;
+                }
+                return new StatementFile(path, size, modified, MappedFileChannel.sha256(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read statement " + path, e);
+            }
+        });
+    }
+
+    public Optional<CsvTransactionReader> readerFor(Path file) {
+        return formats.readerFor(file.getFileName().toString());
+    }
+
+    public ReadableByteChannel open(Path file) throws IOException {
+        return MappedFileChannel.open(file);
+    }
+
+    public void forget(Path file) {
+        stamps.remove(file.toAbsolutePath().normalize());
+    }
+
+    public record StatementFile(Path path, long size, long modifiedMillis, String sha256) {
+    }
+}
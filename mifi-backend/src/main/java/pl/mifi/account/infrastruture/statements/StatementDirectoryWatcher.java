@@ -0,0 +1,230 @@
+package pl.mifi.account.infrastruture.statements;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import pl.mifi.account.application.transaction.ImportStatementCommand;
+import pl.mifi.cqrs.Mediator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Obserwuje katalog wyciągów i każdą zmianę pliku zamienia na {@link ImportStatementCommand}.
+ * Przy starcie przechodzi raz po istniejących plikach – import dociąga to, czego nie ma jeszcze w rejestrze.
+ *
+ * Banki importowane są równolegle (najwyżej {@code mifi.statements.import-parallelism} naraz), a pliki
+ * jednego banku po kolei – nakładające się wyciągi tego samego rachunku deduplikują się względem
+ * poprzednich importów. Każdy plik to osobna komenda, więc i osobna transakcja. Na import jednej serii
+ * zmian obserwator czeka najwyżej {@code mifi.statements.import-timeout} – bank, który nie zdążył, jest
+ * przerywany, a obserwator wraca do zdarzeń.
+ *
+ * Zdarzenie nie uruchamia importu od razu: plik czeka, aż jego rozmiar i mtime przestaną się zmieniać
+ * przez {@code mifi.statements.settle-millis} – inaczej kopiowany wyciąg byłby czytany w połowie.
+ * Startuje jako {@link SmartLifecycle}, czyli dopiero gdy cały kontekst (Mediator, handlery) jest gotowy.
+ */
+@Component
+public class StatementDirectoryWatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementDirectoryWatcher.class);
+
+    private final StatementCatalog catalog;
+    private final Mediator mediator;
+    private final long settleMillis;
+    private final int parallelism;
+    private final Duration importTimeout;
+    /** Pliki czekające na import -> ostatnio widziany stan; {@code null} = zmienił się przed chwilą. */
+    private final Map<Path, Stamp> pending = new TreeMap<>();
+    private volatile ExecutorService importPool;
+    private volatile WatchService watchService;
+    private volatile Thread thread;
+
+    public StatementDirectoryWatcher(StatementCatalog catalog, Mediator mediator,
+                                     @Value("${mifi.statements.settle-millis:2000}") long settleMillis,
+                                     @Value("${mifi.statements.import-parallelism:4}") int parallelism,
+                                     @Value("${mifi.statements.import-timeout:10m}") Duration importTimeout) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("mifi.statements.import-parallelism must be positive: " + parallelism);
+        }
+        this.catalog = catalog;
+        this.mediator = mediator;
+        this.settleMillis = settleMillis;
+        this.parallelism = parallelism;
+        this.importTimeout = importTimeout;
+    }
+
+    @Override
+    public void start() {
+        try {
+            watchService = catalog.root().getFileSystem().newWatchService();
+            catalog.root().register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot watch statements in " + catalog.root(), e);
+        }
+        importPool = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("statement-import-", 0).factory());
+        thread = Thread.ofVirtual().name("statement-watcher").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            importPool.shutdownNow();
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    private void run() {
+        catalog.files().forEach(this::changed);
+        try {
+            while (true) {
+                WatchKey key = pending.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(settleMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW) {
+                            catalog.files().forEach(this::changed);
+                        } else {
+                            changed(catalog.root().resolve((Path) event.context()));
+                        }
+                    }
+                    if (!key.reset()) return;
+                }
+                importSettled();
+            }
+        } catch (ClosedWatchServiceException | RejectedExecutionException | InterruptedException e) {
+            // zamknięcie kontekstu
+        }
+    }
+
+    private void changed(Path file) {
+        pending.put(file, null);
+    }
+
+    /** Importuje pliki, których stan nie zmienił się od co najmniej {@link #settleMillis}. */
+    private void importSettled() throws InterruptedException {
+        long now = System.nanoTime();
+        List<Path> settled = new ArrayList<>();
+        for (Iterator<Map.Entry<Path, Stamp>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Path, Stamp> entry = it.next();
+            Stamp current = Stamp.of(entry.getKey(), now);
+            Stamp previous = entry.getValue();
+            if (previous != null && previous.sameFile(current)
+                    && now - previous.seenNanos() >= TimeUnit.MILLISECONDS.toNanos(settleMillis)) {
+                it.remove();
+                settled.add(entry.getKey());
+            } else if (previous == null || !previous.sameFile(current)) {
+                entry.setValue(current);
+            }
+        }
+        if (!settled.isEmpty()) importAll(settled);
+    }
+
+    /**
+     * Pliki pogrupowane po czytniku (banku); grupy równolegle, pliki w grupie po kolei. Pliki bez
+     * czytnika (usunięte, obce) idą każdy osobno. Czeka na całość, zanim obserwator weźmie kolejne zdarzenia.
+     */
+    private void importAll(List<Path> files) throws InterruptedException {
+        Map<Object, List<Path>> bySource = new LinkedHashMap<>();
+        for (Path file : files) {
+            Object source = catalog.readerFor(file).<Object>map(r -> r).orElse(file);
+            bySource.computeIfAbsent(source, s -> new ArrayList<>()).add(file);
+        }
+
+        if (bySource.size() == 1) {
+            importGroups(bySource.values(), null);
+            return;
+        }
+        List<Path> retry = Collections.synchronizedList(new ArrayList<>());
+        importGroups(bySource.values(), retry);
+        // nieudany import (np. chwilowy błąd połączenia) – jeszcze raz, już po kolei
+        if (!retry.isEmpty()) importGroups(List.of(retry.stream().sorted().toList()), null);
+    }
+
+    /**
+     * Każda grupa na puli importu, wszystkie z jednym terminem {@link #importTimeout}. Grupa po terminie
+     * jest przerywana: przerwanie zamyka kanał czytanego wyciągu, import kończy się błędem, transakcja
+     * pliku jest wycofywana i bez wpisu w rejestrze plik wróci przy następnej zmianie albo starcie.
+     */
+    private void importGroups(Collection<List<Path>> groups, List<Path> retry) throws InterruptedException {
+        Map<Future<?>, List<Path>> running = new LinkedHashMap<>();
+        for (List<Path> group : groups) {
+            running.put(importPool.submit(() -> importGroup(group, retry)), group);
+        }
+        long deadline = System.nanoTime() + importTimeout.toNanos();
+        for (Map.Entry<Future<?>, List<Path>> entry : running.entrySet()) {
+            Future<?> future = entry.getKey();
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Statement import timed out after {}, cancelled: {}", importTimeout, entry.getValue());
+            } catch (ExecutionException e) {
+                log.warn("Statement import failed: {}", entry.getValue(), e.getCause());
+            }
+        }
+    }
+
+    private void importGroup(List<Path> group, List<Path> retry) {
+        for (Path file : group) {
+            if (Thread.currentThread().isInterrupted()) return; // po terminie – reszta grupy też czeka na kolejną zmianę
+            importFile(file, retry);
+        }
+    }
+
+    /** Nieudany import trafia do {@code retry}, jeśli podano; inaczej jest tylko zgłaszany. */
+    private void importFile(Path file, List<Path> retry) {
+        try {
+            mediator.send(new ImportStatementCommand(file));
+        } catch (Throwable ex) {
+            // jeden zły plik nie zatrzymuje obserwatora – także InternalError z obciętego zmapowanego pliku;
+            // bez wpisu w rejestrze import zostanie powtórzony przy następnej zmianie pliku
+            if (retry != null && !Thread.currentThread().isInterrupted()) {
+                retry.add(file);
+            } else {
+                log.warn("Statement import failed: {}", file, ex);
+            }
+        }
+    }
+
+    /** Rozmiar i mtime pliku; usunięty plik ma rozmiar -1. */
+    private record Stamp(long size, long modifiedMillis, long seenNanos) {
+
+        static Stamp of(Path file, long now) {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                return new Stamp(attrs.size(), attrs.lastModifiedTime().toMillis(), now);
+            } catch (IOException e) {
+                return new Stamp(-1, -1, now);
+            }
+        }
+
+        boolean sameFile(Stamp other) {
+            return size == other.size && modifiedMillis == other.modifiedMillis;
+        }
+    }
+}
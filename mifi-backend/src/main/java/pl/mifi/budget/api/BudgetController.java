@@ -3,13 +3,19 @@ package pl.mifi.budget.api;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pl.mifi.budget.application.CreateBudgetCommandHandler;
+import pl.mifi.budget.application.GetAllCategoriesQuery;
 import pl.mifi.budget.application.GetByMonthQuery;
 import pl.mifi.budget.application.GetDefaultBudgetQuery;
+import pl.mifi.budget.application.NoBudgetForMonthException;
 import pl.mifi.budget.application.UpdateDefaultTemplateFromBudgetCommand;
 import pl.mifi.budget.domain.Budget;
+import pl.mifi.budget.domain.Category;
 import pl.mifi.cqrs.Mediator;
 
 import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/budget")
@@ -36,6 +42,16 @@ public class BudgetController {
                 .body(dto);
     }
 
+    /** Budżet miesiąca + kategorie – oba zapytania lecą równolegle zamiast jedno po drugim. */
+    @GetMapping("monthly/{ym}/overview")
+    public CompletableFuture<ResponseEntity<BudgetOverview>> getMonthlyOverview(@PathVariable String ym) {
+        YearMonth yearMonth = YearMonth.parse(ym); // ISO: YYYY-MM
+        CompletableFuture<Budget> budget = mediator.<Budget, GetByMonthQuery>getAsync(new GetByMonthQuery(yearMonth))
+                .exceptionally(BudgetController::emptyIfNoBudget);
+        CompletableFuture<List<Category>> categories = mediator.getAsync(new GetAllCategoriesQuery());
+        return budget.thenCombine(categories, (b, c) -> ResponseEntity.ok(new BudgetOverview(b, c)));
+    }
+
     @GetMapping("default")
     public ResponseEntity<Budget> getDefault() {
         Budget budget = mediator.get(new GetDefaultBudgetQuery());
@@ -47,4 +63,14 @@ public class BudgetController {
         mediator.send(new UpdateDefaultTemplateFromBudgetCommand(body));
         return ResponseEntity.ok().build();
     }
+
+    /** Brak budżetu na ten miesiąc -> pusty widok; każdy inny błąd idzie dalej. */
+    private static Budget emptyIfNoBudget(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof NoBudgetForMonthException) return null;
+        throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+    }
+
+    public record BudgetOverview(Budget budget, List<Category> categories) {
+    }
 }
@@ -0,0 +1,22 @@
+package pl.mifi.budget.application;
+
+import org.hibernate.Hibernate;
+import pl.mifi.budget.domain.Budget;
+
+/**
+ * Dociąga leniwe kolekcje budżetu w ramach transakcji handlera, tak żeby wynik
+ * dało się serializować także wtedy, gdy handler działał poza wątkiem żądania (getAsync).
+ */
+final class BudgetLoading {
+
+    private BudgetLoading() {
+    }
+
+    static Budget initialize(Budget budget) {
+        if (budget == null) return null;
+        Hibernate.initialize(budget.getIncomes());
+        Hibernate.initialize(budget.getFixedExpenses());
+        budget.getEnvelopes().forEach(e -> Hibernate.initialize(e.getCategory()));
+        return budget;
+    }
+}
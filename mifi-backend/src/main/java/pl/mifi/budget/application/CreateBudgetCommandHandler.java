@@ -8,6 +8,7 @@ import pl.mifi.budget.infrastructure.BudgetRepository;
 import pl.mifi.budget.infrastructure.CategoryRepository;
 import pl.mifi.cqrs.Command;
 import pl.mifi.cqrs.CommandHandler;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -75,6 +76,7 @@ public class CreateBudgetCommandHandler implements CommandHandler<CreateBudgetCo
 
     }
 
+    @InvalidatesQueries({GetByMonthQuery.class, GetDefaultBudgetQuery.class})
     public record CreateBudgetCommand(String title, Type type, LocalDate start,
                                       LocalDate end,
                                       List<Income> incomes,
@@ -5,6 +5,7 @@ import pl.mifi.budget.domain.Category;
 import pl.mifi.budget.infrastructure.CategoryRepository;
 import pl.mifi.cqrs.Command;
 import pl.mifi.cqrs.CommandHandler;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
 
 @Component
 public class CreateCategoryCommandHandler implements CommandHandler<CreateCategoryCommandHandler.CreateCategoryCommand> {
@@ -21,6 +22,7 @@ public class CreateCategoryCommandHandler implements CommandHandler<CreateCatego
         categoryRepository.save(category);
     }
 
+    @InvalidatesQueries(GetAllCategoriesQuery.class)
     public record CreateCategoryCommand(String name, String description) implements Command {
     }
 }
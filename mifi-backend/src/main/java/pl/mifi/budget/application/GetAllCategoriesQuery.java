@@ -1,6 +1,8 @@
 package pl.mifi.budget.application;
 
 import pl.mifi.cqrs.Query;
+import pl.mifi.cqrs.annotations.CachedQuery;
 
-public class GetAllCategoriesQuery implements Query {
+@CachedQuery
+public record GetAllCategoriesQuery() implements Query {
 }
@@ -1,8 +1,10 @@
 package pl.mifi.budget.application;
 
 import pl.mifi.cqrs.Query;
+import pl.mifi.cqrs.annotations.CachedQuery;
 
 import java.time.YearMonth;
 
+@CachedQuery
 public record GetByMonthQuery(YearMonth ym) implements Query {
 }
@@ -1,6 +1,7 @@
 package pl.mifi.budget.application;
 
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import pl.mifi.budget.domain.Budget;
 import pl.mifi.budget.infrastructure.BudgetRepository;
 import pl.mifi.cqrs.QueryHandler;
@@ -15,10 +16,12 @@ public class GetByMonthQueryHandler implements QueryHandler<GetByMonthQuery, Bud
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Budget handle(GetByMonthQuery query) {
 
         return budgetRepository.findMonthly(query.ym())
-                .orElseThrow(() -> new IllegalArgumentException("No budget for month: " + query.ym()));
+                .map(BudgetLoading::initialize)
+                .orElseThrow(() -> new NoBudgetForMonthException(query.ym()));
     }
 
 }
@@ -1,6 +1,8 @@
 package pl.mifi.budget.application;
 
 import pl.mifi.cqrs.Query;
+import pl.mifi.cqrs.annotations.CachedQuery;
 
+@CachedQuery
 public record GetDefaultBudgetQuery() implements Query {
 }
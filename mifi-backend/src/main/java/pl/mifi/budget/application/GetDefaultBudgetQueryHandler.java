@@ -1,6 +1,7 @@
 package pl.mifi.budget.application;
 
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import pl.mifi.budget.domain.Budget;
 import pl.mifi.budget.infrastructure.BudgetRepository;
 import pl.mifi.cqrs.QueryHandler;
@@ -15,8 +16,10 @@ public class GetDefaultBudgetQueryHandler implements QueryHandler<GetDefaultBudg
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Budget handle(GetDefaultBudgetQuery query) {
         return budgetRepository.findByIsDefaultTemplateTrue()
+                .map(BudgetLoading::initialize)
                 .orElse(null);
     }
 }
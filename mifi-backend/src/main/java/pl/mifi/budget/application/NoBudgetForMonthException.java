@@ -0,0 +1,13 @@
+package pl.mifi.budget.application;
+
+import java.time.YearMonth;
+
+/** Brak budżetu na dany miesiąc – dla widoków to stan "pusty", a nie błąd. */
+public class NoBudgetForMonthException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public NoBudgetForMonthException(YearMonth ym) {
+        super("No budget for month: " + ym);
+    }
+}
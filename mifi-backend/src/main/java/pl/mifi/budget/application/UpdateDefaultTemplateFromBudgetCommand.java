@@ -2,5 +2,7 @@ package pl.mifi.budget.application;
 
 import pl.mifi.budget.domain.Budget;
 import pl.mifi.cqrs.Command;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
 
+@InvalidatesQueries(GetDefaultBudgetQuery.class)
 public record UpdateDefaultTemplateFromBudgetCommand(Budget incoming) implements Command {}
@@ -0,0 +1,11 @@
+package pl.mifi.cqrs;
+
+import java.util.List;
+
+/**
+ * Handler, który potrafi obsłużyć wiele komend naraz (np. jednym batchem JDBC).
+ * Używany przez {@link Mediator#sendAll}; zwykłe {@link #handle} nadal działa dla pojedynczych komend.
+ */
+public interface BatchCommandHandler<C extends Command> extends CommandHandler<C> {
+    void handleAll(List<C> commands);
+}
@@ -1,6 +1,23 @@
 package pl.mifi.cqrs;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 public interface Mediator {
     <C extends Command> void send(C command);
     <R, Q extends Query> R get(Q query);
+
+    /**
+     * Wysyła wiele komend w jednej transakcji. Komendy tego samego typu trafiają razem
+     * do {@link BatchCommandHandler#handleAll}, jeśli handler go implementuje.
+     */
+    <C extends Command> void sendAll(Collection<C> commands);
+
+    /**
+     * Wersje asynchroniczne uruchamiają handler na wirtualnym wątku mediatora.
+     * Handler nie dołącza do transakcji wywołującego – handler oznaczony {@code @Transactional}
+     * otwiera własną transakcję na wątku roboczym i zatwierdza ją, zanim future się zakończy.
+     */
+    <C extends Command> CompletableFuture<Void> sendAsync(C command);
+    <R, Q extends Query> CompletableFuture<R> getAsync(Q query);
 }
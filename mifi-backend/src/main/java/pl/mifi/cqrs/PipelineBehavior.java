@@ -0,0 +1,20 @@
+package pl.mifi.cqrs;
+
+/**
+ * Krok łańcucha wokół każdego handlera (logowanie, metryki, cache...).
+ * Kolejność wyznacza {@code @Order} beana – niższa wartość = bliżej wywołującego.
+ *
+ * Łańcuch per typ komendy/zapytania składany jest raz przy starcie, dlatego implementacje
+ * nie powinny alokować niczego w {@link #handle} na ścieżce, która nic nie robi.
+ *
+ * Przy {@link Mediator#sendAll} {@code message} to lista komend typu {@code messageType}.
+ */
+public interface PipelineBehavior {
+
+    /** Czy krok ma być wpięty w łańcuch danego typu komendy/zapytania (sprawdzane raz, przy starcie). */
+    default boolean appliesTo(Class<?> messageType) {
+        return true;
+    }
+
+    Object handle(Class<?> messageType, Object message, PipelineNext next);
+}
@@ -0,0 +1,6 @@
+package pl.mifi.cqrs;
+
+@FunctionalInterface
+public interface PipelineNext {
+    Object proceed(Object message);
+}
@@ -0,0 +1,19 @@
+package pl.mifi.cqrs.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Wynik zapytania trafia do ograniczonego cache kluczowanego wartością zapytania (equals/hashCode rekordu).
+ * Unieważnienie deklarują komendy przez {@link InvalidatesQueries}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedQuery {
+
+    int maxSize() default 64;
+
+    long ttlSeconds() default 300;
+}
@@ -0,0 +1,16 @@
+package pl.mifi.cqrs.annotations;
+
+import pl.mifi.cqrs.Query;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Po poprawnym wykonaniu komendy czyści cache wymienionych typów zapytań. */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InvalidatesQueries {
+
+    Class<? extends Query>[] value();
+}
@@ -0,0 +1,15 @@
+package pl.mifi.cqrs.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Równoległe wywołania zapytania o równej wartości (equals) czekają na jedno, wspólne wykonanie handlera
+ * i dostają ten sam wynik (albo ten sam wyjątek).
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+}
@@ -0,0 +1,35 @@
+package pl.mifi.cqrs.api;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pl.mifi.cqrs.behaviors.MessageMetricsSnapshot;
+import pl.mifi.cqrs.behaviors.MetricsBehavior;
+import pl.mifi.cqrs.behaviors.SingleFlightBehavior;
+import pl.mifi.cqrs.behaviors.SingleFlightSnapshot;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/metrics/mediator")
+public class MediatorMetricsController {
+
+    private final MetricsBehavior metricsBehavior;
+    private final SingleFlightBehavior singleFlightBehavior;
+
+    public MediatorMetricsController(MetricsBehavior metricsBehavior, SingleFlightBehavior singleFlightBehavior) {
+        this.metricsBehavior = metricsBehavior;
+        this.singleFlightBehavior = singleFlightBehavior;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<MessageMetricsSnapshot>> getMetrics() {
+        return ResponseEntity.ok(metricsBehavior.snapshot());
+    }
+
+    @GetMapping("/single-flight")
+    public ResponseEntity<List<SingleFlightSnapshot>> getSingleFlightMetrics() {
+        return ResponseEntity.ok(singleFlightBehavior.snapshot());
+    }
+}
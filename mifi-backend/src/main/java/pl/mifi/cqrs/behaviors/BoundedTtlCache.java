@@ -0,0 +1,57 @@
+package pl.mifi.cqrs.behaviors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mały cache LRU z TTL. Każde {@link #invalidateAll()} podbija generację – wynik policzony
+ * przed unieważnieniem nie zostanie już zapisany (patrz {@link #putIfGeneration}).
+ */
+final class BoundedTtlCache {
+
+    private static final Object NULL = new Object();
+
+    private final long ttlNanos;
+    private final LinkedHashMap<Object, Entry> entries;
+    private long generation;
+
+    BoundedTtlCache(int maxSize, long ttlNanos) {
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /** @return zapisany wynik (także {@code null}) albo {@link #MISS}. */
+    synchronized Object get(Object key) {
+        Entry e = entries.get(key);
+        if (e == null) return MISS;
+        if (System.nanoTime() - e.expiresAtNanos > 0) {
+            entries.remove(key);
+            return MISS;
+        }
+        return e.value == NULL ? null : e.value;
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    synchronized void putIfGeneration(Object key, Object value, long expectedGeneration) {
+        if (generation != expectedGeneration) return;
+        entries.put(key, new Entry(value == null ? NULL : value, System.nanoTime() + ttlNanos));
+    }
+
+    synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    static final Object MISS = new Object();
+
+    private record Entry(Object value, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,67 @@
+package pl.mifi.cqrs.behaviors;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Histogram czasów w nanosekundach o stałej liczbie kubełków log-liniowych
+ * (16 kubełków na każdą potęgę dwójki, błąd względny percentyla &lt; 7%).
+ * Zapis to jeden {@code incrementAndGet} – bez blokad i bez alokacji.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(v));
+        max.accumulate(v);
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    /** Kopia liczników – percentyle liczone są na spójnym zrzucie, a nie na żywej tablicy. */
+    long[] snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    /** Górna granica kubełka, w którym wypada podany percentyl (0..100). */
+    static long percentile(long[] snapshot, double percentile) {
+        long total = 0;
+        for (long c : snapshot) total += c;
+        if (total == 0) return 0;
+
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(rank, 1)) return upperBound(i);
+        }
+        return upperBound(snapshot.length - 1);
+    }
+
+    static int bucketOf(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        int mantissa = (int) (v >>> (exponent - SUB_BITS)); // 16..31
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + (mantissa - SUB_COUNT);
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        long mantissa = bucket % SUB_COUNT + SUB_COUNT;
+        return ((mantissa + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
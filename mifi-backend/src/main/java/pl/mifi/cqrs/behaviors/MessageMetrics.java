@@ -0,0 +1,43 @@
+package pl.mifi.cqrs.behaviors;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Liczniki jednego typu komendy/zapytania. */
+final class MessageMetrics {
+
+    private final Class<?> messageType;
+    private final long createdAtNanos = System.nanoTime();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    MessageMetrics(Class<?> messageType) {
+        this.messageType = messageType;
+    }
+
+    void record(long nanos, boolean failed) {
+        latency.record(nanos);
+        calls.increment();
+        if (failed) errors.increment();
+    }
+
+    MessageMetricsSnapshot snapshot() {
+        long[] buckets = latency.snapshot();
+        long count = calls.sum();
+        double uptimeSeconds = Math.max(1e-9, (System.nanoTime() - createdAtNanos) / 1e9);
+        return new MessageMetricsSnapshot(
+                messageType.getSimpleName(),
+                count,
+                errors.sum(),
+                count / uptimeSeconds,
+                toMillis(LatencyHistogram.percentile(buckets, 50)),
+                toMillis(LatencyHistogram.percentile(buckets, 99)),
+                toMillis(latency.max())
+        );
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,5 @@
+package pl.mifi.cqrs.behaviors;
+
+public record MessageMetricsSnapshot(String messageType, long count, long errors, double throughputPerSecond,
+                                     double p50Millis, double p99Millis, double maxMillis) {
+}
@@ -0,0 +1,48 @@
+package pl.mifi.cqrs.behaviors;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import pl.mifi.cqrs.PipelineBehavior;
+import pl.mifi.cqrs.PipelineNext;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pierwszy (najbardziej zewnętrzny) krok łańcucha: histogram czasów, liczba wywołań i błędów per typ.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricsBehavior implements PipelineBehavior {
+
+    private final Map<Class<?>, MessageMetrics> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public Object handle(Class<?> messageType, Object message, PipelineNext next) {
+        MessageMetrics m = metricsFor(messageType);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = next.proceed(message);
+            failed = false;
+            return result;
+        } finally {
+            m.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    public List<MessageMetricsSnapshot> snapshot() {
+        return metrics.values().stream()
+                .map(MessageMetrics::snapshot)
+                .sorted(Comparator.comparing(MessageMetricsSnapshot::messageType))
+                .toList();
+    }
+
+    private MessageMetrics metricsFor(Class<?> messageType) {
+        MessageMetrics m = metrics.get(messageType);
+        return m != null ? m : metrics.computeIfAbsent(messageType, MessageMetrics::new);
+    }
+}
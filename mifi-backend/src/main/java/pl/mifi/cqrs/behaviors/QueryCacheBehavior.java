@@ -0,0 +1,79 @@
+package pl.mifi.cqrs.behaviors;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mifi.cqrs.PipelineBehavior;
+import pl.mifi.cqrs.PipelineNext;
+import pl.mifi.cqrs.Query;
+import pl.mifi.cqrs.annotations.CachedQuery;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache wyników zapytań oznaczonych {@link CachedQuery}; komendy z {@link InvalidatesQueries}
+ * czyszczą wskazane cache dopiero po udanym handle. Jeśli komenda biegnie w cudzej transakcji
+ * (np. {@link pl.mifi.cqrs.Mediator#sendAll}), czyszczenie czeka na jej commit – wcześniej równoległe
+ * zapytanie mogłoby wczytać do cache dane sprzed zmiany i trzymać je przez cały TTL.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class QueryCacheBehavior implements PipelineBehavior {
+
+    private final Map<Class<?>, BoundedTtlCache> caches = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean appliesTo(Class<?> messageType) {
+        return messageType.isAnnotationPresent(CachedQuery.class)
+                || messageType.isAnnotationPresent(InvalidatesQueries.class);
+    }
+
+    @Override
+    public Object handle(Class<?> messageType, Object message, PipelineNext next) {
+        InvalidatesQueries invalidates = messageType.getAnnotation(InvalidatesQueries.class);
+        if (invalidates != null) {
+            Object result = next.proceed(message);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        invalidate(invalidates);
+                    }
+                });
+            } else {
+                invalidate(invalidates);
+            }
+            return result;
+        }
+
+        BoundedTtlCache cache = cacheFor(messageType);
+        Object cached = cache.get(message);
+        if (cached != BoundedTtlCache.MISS) return cached;
+
+        long generation = cache.generation();
+        Object result = next.proceed(message);
+        cache.putIfGeneration(message, result, generation);
+        return result;
+    }
+
+    private void invalidate(InvalidatesQueries invalidates) {
+        for (Class<? extends Query> queryType : invalidates.value()) {
+            BoundedTtlCache cache = caches.get(queryType);
+            if (cache != null) cache.invalidateAll();
+        }
+    }
+
+    private BoundedTtlCache cacheFor(Class<?> queryType) {
+        BoundedTtlCache cache = caches.get(queryType);
+        if (cache != null) return cache;
+        return caches.computeIfAbsent(queryType, t -> {
+            CachedQuery cfg = t.getAnnotation(CachedQuery.class);
+            return new BoundedTtlCache(cfg.maxSize(), TimeUnit.SECONDS.toNanos(cfg.ttlSeconds()));
+        });
+    }
+}
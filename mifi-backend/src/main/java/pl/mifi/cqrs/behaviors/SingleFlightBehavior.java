@@ -0,0 +1,85 @@
+package pl.mifi.cqrs.behaviors;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import pl.mifi.cqrs.PipelineBehavior;
+import pl.mifi.cqrs.PipelineNext;
+import pl.mifi.cqrs.annotations.SingleFlight;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sklejanie identycznych, równoległych zapytań oznaczonych {@link SingleFlight}.
+ * Stoi za cache ({@link QueryCacheBehavior}), więc koalescencja dotyczy tylko chybień.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 200)
+public class SingleFlightBehavior implements PipelineBehavior {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Counters> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean appliesTo(Class<?> messageType) {
+        return messageType.isAnnotationPresent(SingleFlight.class);
+    }
+
+    @Override
+    public Object handle(Class<?> messageType, Object message, PipelineNext next) {
+        Counters c = countersFor(messageType);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(message, mine);
+        if (leader != null) {
+            c.coalesced.increment();
+            return await(leader);
+        }
+
+        c.executions.increment();
+        try {
+            Object result = next.proceed(message);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(message, mine);
+        }
+    }
+
+    public List<SingleFlightSnapshot> snapshot() {
+        return counters.entrySet().stream()
+                .map(e -> new SingleFlightSnapshot(e.getKey().getSimpleName(),
+                        e.getValue().executions.sum(), e.getValue().coalesced.sum()))
+                .sorted(Comparator.comparing(SingleFlightSnapshot::messageType))
+                .toList();
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private Counters countersFor(Class<?> messageType) {
+        Counters c = counters.get(messageType);
+        return c != null ? c : counters.computeIfAbsent(messageType, t -> new Counters());
+    }
+
+    private static final class Counters {
+        final LongAdder executions = new LongAdder();
+        final LongAdder coalesced = new LongAdder();
+    }
+}
@@ -0,0 +1,4 @@
+package pl.mifi.cqrs.behaviors;
+
+public record SingleFlightSnapshot(String messageType, long executions, long coalesced) {
+}
@@ -0,0 +1,41 @@
+package pl.mifi.cqrs.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Każde zadanie dostaje własny wirtualny wątek, ale jednocześnie wykonuje się najwyżej
+ * {@code maxConcurrency} zadań – reszta czeka na semaforze (czekanie wirtualnego wątku nic nie kosztuje).
+ */
+final class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    BoundedVirtualThreadExecutor(String namePrefix, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,16 @@
+package pl.mifi.cqrs.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CqrsConfiguration {
+
+    public static final String MEDIATOR_EXECUTOR = "mediatorExecutor";
+
+    @Bean(name = MEDIATOR_EXECUTOR, destroyMethod = "close")
+    BoundedVirtualThreadExecutor mediatorExecutor(@Value("${mifi.cqrs.async.max-concurrency:256}") int maxConcurrency) {
+        return new BoundedVirtualThreadExecutor("mediator-", maxConcurrency);
+    }
+}
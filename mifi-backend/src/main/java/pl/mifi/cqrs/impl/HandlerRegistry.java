@@ -0,0 +1,157 @@
+package pl.mifi.cqrs.impl;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import pl.mifi.cqrs.*;
+
+import java.util.*;
+
+/**
+ * Mapa "dokładna klasa komendy/zapytania -> handler" budowana raz przy starcie kontekstu,
+ * razem z gotowym łańcuchem {@link PipelineBehavior} dla każdego typu.
+ *
+ * Start aplikacji kończy się błędem, gdy:
+ *  - dwa handlery obsługują ten sam typ komendy/zapytania,
+ *  - któraś komenda/zapytanie z pakietów aplikacji nie ma handlera.
+ */
+@Component
+public class HandlerRegistry {
+
+    private final Map<Class<?>, CommandHandler<?>> commandHandlers;
+    private final Map<Class<?>, QueryHandler<?, ?>> queryHandlers;
+    private final Map<Class<?>, PipelineNext> pipelines;
+    private final Map<Class<?>, PipelineNext> batchPipelines;
+
+    public HandlerRegistry(List<CommandHandler<?>> commandHandlers,
+                           List<QueryHandler<?, ?>> queryHandlers,
+                           ObjectProvider<PipelineBehavior> behaviors,
+                           BeanFactory beanFactory) {
+        this.commandHandlers = index(commandHandlers, CommandHandler.class);
+        this.queryHandlers = index(queryHandlers, QueryHandler.class);
+        List<PipelineBehavior> orderedBehaviors = behaviors.orderedStream().toList();
+        this.pipelines = buildPipelines(orderedBehaviors);
+        this.batchPipelines = buildBatchPipelines(orderedBehaviors);
+
+        List<String> packages = AutoConfigurationPackages.has(beanFactory)
+                ? AutoConfigurationPackages.get(beanFactory)
+                : List.of();
+        verifyComplete(packages, Command.class, this.commandHandlers.keySet());
+        verifyComplete(packages, Query.class, this.queryHandlers.keySet());
+    }
+
+    /** Łańcuch behaviorów zakończony handlerem danego typu; wynik komendy to zawsze {@code null}. */
+    public PipelineNext pipeline(Class<?> messageType) {
+        PipelineNext pipeline = pipelines.get(messageType);
+        if (pipeline == null) {
+            throw new IllegalStateException("No handler found for: " + messageType.getSimpleName());
+        }
+        return pipeline;
+    }
+
+    /** Jak {@link #pipeline}, ale wiadomością jest lista komend jednego typu. */
+    public PipelineNext batchPipeline(Class<?> commandType) {
+        PipelineNext pipeline = batchPipelines.get(commandType);
+        if (pipeline == null) {
+            throw new IllegalStateException("No handler found for command: " + commandType.getSimpleName());
+        }
+        return pipeline;
+    }
+
+    // ---- budowanie ----
+
+    private static <H> Map<Class<?>, H> index(List<H> handlers, Class<?> handlerInterface) {
+        Map<Class<?>, H> byType = new HashMap<>();
+        for (H handler : handlers) {
+            Class<?> targetClass = AopProxyUtils.ultimateTargetClass(handler);
+            Class<?>[] typeArgs = GenericTypeResolver.resolveTypeArguments(targetClass, handlerInterface);
+            if (typeArgs == null || typeArgs[0] == null) {
+                throw new IllegalStateException("Cannot resolve message type of handler: " + targetClass.getName());
+            }
+            H previous = byType.putIfAbsent(typeArgs[0], handler);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate handlers for " + typeArgs[0].getSimpleName() + ": "
+                        + AopProxyUtils.ultimateTargetClass(previous).getName() + ", " + targetClass.getName());
+            }
+        }
+        return Map.copyOf(byType);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Map<Class<?>, PipelineNext> buildPipelines(List<PipelineBehavior> behaviors) {
+        Map<Class<?>, PipelineNext> byType = new HashMap<>();
+        commandHandlers.forEach((type, handler) -> {
+            CommandHandler raw = handler;
+            byType.put(type, chain(type, message -> {
+                raw.handle((Command) message);
+                return null;
+            }, behaviors));
+        });
+        queryHandlers.forEach((type, handler) -> {
+            QueryHandler raw = handler;
+            byType.put(type, chain(type, message -> raw.handle((Query) message), behaviors));
+        });
+        return Map.copyOf(byType);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Map<Class<?>, PipelineNext> buildBatchPipelines(List<PipelineBehavior> behaviors) {
+        Map<Class<?>, PipelineNext> byType = new HashMap<>();
+        commandHandlers.forEach((type, handler) -> {
+            PipelineNext terminal;
+            if (handler instanceof BatchCommandHandler batch) {
+                terminal = message -> {
+                    batch.handleAll((List) message);
+                    return null;
+                };
+            } else {
+                CommandHandler raw = handler;
+                terminal = message -> {
+                    for (Object command : (List<?>) message) {
+                        raw.handle((Command) command);
+                    }
+                    return null;
+                };
+            }
+            byType.put(type, chain(type, terminal, behaviors));
+        });
+        return Map.copyOf(byType);
+    }
+
+    /** Owija handler od końca, tak żeby pierwszy behavior z listy był najbardziej zewnętrzny. */
+    static PipelineNext chain(Class<?> messageType, PipelineNext terminal, List<PipelineBehavior> behaviors) {
+        PipelineNext next = terminal;
+        for (int i = behaviors.size() - 1; i >= 0; i--) {
+            PipelineBehavior behavior = behaviors.get(i);
+            if (behavior.appliesTo(messageType)) {
+                PipelineNext inner = next;
+                next = message -> behavior.handle(messageType, message, inner);
+            }
+        }
+        return next;
+    }
+
+    private static void verifyComplete(List<String> packages, Class<?> messageInterface, Set<Class<?>> handled) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(messageInterface));
+
+        List<String> missing = new ArrayList<>();
+        for (String pkg : packages) {
+            scanner.findCandidateComponents(pkg).forEach(candidate -> {
+                Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), HandlerRegistry.class.getClassLoader());
+                if (!handled.contains(type)) {
+                    missing.add(type.getName());
+                }
+            });
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("No handler registered for " + messageInterface.getSimpleName() + " types: " + missing);
+        }
+    }
+}
@@ -1,73 +1,64 @@
 package pl.mifi.cqrs.impl;
 
-import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import pl.mifi.cqrs.*;
 
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Component
 public class MediatorImpl implements Mediator {
 
-    //TODO: Find all handlers when application starts https://chatgpt.com/c/67ea4519-4664-8000-b364-067efade2007
-
-    private final ApplicationContext applicationContext;
+    private final HandlerRegistry registry;
+    private final Executor executor;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public MediatorImpl(ApplicationContext applicationContext) {
-        this.applicationContext = applicationContext;
+    public MediatorImpl(HandlerRegistry registry,
+                        @Qualifier(CqrsConfiguration.MEDIATOR_EXECUTOR) Executor executor,
+                        PlatformTransactionManager transactionManager) {
+        this.registry = registry;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <C extends Command> void send(C command) {
-        CommandHandler<C> handler = (CommandHandler<C>) applicationContext.getBeansOfType(CommandHandler.class)
-                .values().stream()
-                .filter(h -> {
-                    Class<?> targetClass = AopProxyUtils.ultimateTargetClass(h);
-                    Type[] genericInterfaces = targetClass.getGenericInterfaces();
-                    for (Type genericInterface : genericInterfaces) {
-                        if (genericInterface instanceof ParameterizedType) {
-                            ParameterizedType parameterizedType = (ParameterizedType) genericInterface;
-                            Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
-                            if (actualTypeArguments.length > 0 && actualTypeArguments[0].equals(command.getClass())) {
-                                return true;
-                            }
-                        }
-                    }
-                    return false;
-                })
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("No handler found for command: " + command.getClass().getSimpleName()));
-
-        handler.handle(command);
+        registry.pipeline(command.getClass()).proceed(command);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <R, Q extends Query> R get(Q query) {
-        QueryHandler<Q, R> handler = (QueryHandler<Q, R>) applicationContext.getBeansOfType(QueryHandler.class)
-                .values().stream()
-                .filter(h -> {
-                    Class<?> targetClass = AopProxyUtils.ultimateTargetClass(h);
-                    Type[] genericInterfaces = targetClass.getGenericInterfaces();
-                    for (Type genericInterface : genericInterfaces) {
-                        if (genericInterface instanceof ParameterizedType) {
-                            ParameterizedType parameterizedType = (ParameterizedType) genericInterface;
-                            Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
-                            if (actualTypeArguments.length > 0 && actualTypeArguments[0].equals(query.getClass())) {
-                                return true;
-                            }
-                        }
-                    }
-                    return false;
-                })
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("No handler found for query: " + query.getClass().getSimpleName()));
+        return (R) registry.pipeline(query.getClass()).proceed(query);
+    }
+
+    @Override
+    public <C extends Command> void sendAll(Collection<C> commands) {
+        if (commands.isEmpty()) return;
+
+        // grupowanie po typie z zachowaniem kolejności pierwszego wystąpienia
+        Map<Class<?>, List<C>> byType = new LinkedHashMap<>();
+        for (C command : commands) {
+            byType.computeIfAbsent(command.getClass(), t -> new ArrayList<>()).add(command);
+        }
 
-        return handler.handle(query);
+        transactionTemplate.executeWithoutResult(status ->
+                byType.forEach((type, batch) -> registry.batchPipeline(type).proceed(batch)));
+    }
+
+    @Override
+    public <C extends Command> CompletableFuture<Void> sendAsync(C command) {
+        return CompletableFuture.runAsync(() -> send(command), executor);
+    }
+
+    @Override
+    public <R, Q extends Query> CompletableFuture<R> getAsync(Q query) {
+        return CompletableFuture.supplyAsync(() -> this.<R, Q>get(query), executor);
     }
 }
@@ -0,0 +1,9 @@
+package fixtures.messages;
+
+import pl.mifi.cqrs.Command;
+import pl.mifi.cqrs.annotations.InvalidatesQueries;
+
+/** Komenda testowa unieważniająca {@link PriceQuery}. */
+@InvalidatesQueries(PriceQuery.class)
+public record ChangePriceCommand() implements Command {
+}
@@ -0,0 +1,7 @@
+package fixtures.messages;
+
+import pl.mifi.cqrs.Query;
+
+/** Zapytanie testowe rejestru handlerów. Poza {@code pl.mifi}, jak {@link fixtures.unhandled.OrphanCommand}. */
+public record EchoQuery(String text) implements Query {
+}
@@ -0,0 +1,7 @@
+package fixtures.messages;
+
+import pl.mifi.cqrs.Query;
+
+/** Zapytanie testowe rejestru handlerów. */
+public record LengthQuery(String text) implements Query {
+}
@@ -0,0 +1,9 @@
+package fixtures.messages;
+
+import pl.mifi.cqrs.Query;
+import pl.mifi.cqrs.annotations.CachedQuery;
+
+/** Zapytanie testowe cache'u zapytań. */
+@CachedQuery(maxSize = 8)
+public record PriceQuery(String sku) implements Query {
+}
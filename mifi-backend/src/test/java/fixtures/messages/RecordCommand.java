@@ -0,0 +1,7 @@
+package fixtures.messages;
+
+import pl.mifi.cqrs.Command;
+
+/** Komenda testowa rejestru handlerów. */
+public record RecordCommand(String value) implements Command {
+}
@@ -0,0 +1,9 @@
+package fixtures.messages;
+
+import pl.mifi.cqrs.Query;
+import pl.mifi.cqrs.annotations.SingleFlight;
+
+/** Zapytanie testowe sklejania równoległych wywołań. */
+@SingleFlight
+public record ReportQuery(String month) implements Query {
+}
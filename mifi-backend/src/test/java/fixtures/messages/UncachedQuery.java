@@ -0,0 +1,7 @@
+package fixtures.messages;
+
+import pl.mifi.cqrs.Query;
+
+/** Zapytanie testowe bez {@code @CachedQuery}. */
+public record UncachedQuery() implements Query {
+}
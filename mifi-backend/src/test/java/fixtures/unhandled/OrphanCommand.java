@@ -0,0 +1,10 @@
+package fixtures.unhandled;
+
+import pl.mifi.cqrs.Command;
+
+/**
+ * Komenda bez handlera dla testu rejestru. Celowo poza {@code pl.mifi}, żeby skan pakietów
+ * aplikacji (np. w testach z pełnym kontekstem) jej nie widział.
+ */
+public record OrphanCommand() implements Command {
+}
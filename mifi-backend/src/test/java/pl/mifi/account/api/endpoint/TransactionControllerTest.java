@@ -0,0 +1,80 @@
+package pl.mifi.account.api.endpoint;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import pl.mifi.account.application.transaction.ExportFormat;
+import pl.mifi.account.application.transaction.ExportTransactionsQuery;
+import pl.mifi.account.application.transaction.response.TransactionExport;
+import pl.mifi.account.domain.Bank;
+import pl.mifi.account.domain.TransactionFilter;
+import pl.mifi.cqrs.Mediator;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TransactionControllerTest {
+
+    private final Mediator mediator = mock(Mediator.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new TransactionController(mediator)).build();
+
+    @Test
+    void exportStreamsTheQueryResultAsAnAttachment() throws Exception {
+        TransactionExport export = out -> out.write("id,date\r\n".getBytes(StandardCharsets.UTF_8));
+        when(mediator.get(any(ExportTransactionsQuery.class))).thenReturn(export);
+
+        MvcResult started = mvc.perform(get("/transactions/export")
+                        .param("format", "CSV")
+                        .param("from", "2025-03-01")
+                        .param("to", "2025-03-31")
+                        .param("bank", "MBANK")
+                        .param("category", "groceries")
+                        .param("minAmount", "-500"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                .andExpect(content().string("id,date\r\n"));
+
+        ArgumentCaptor<ExportTransactionsQuery> query = ArgumentCaptor.forClass(ExportTransactionsQuery.class);
+        verify(mediator).get(query.capture());
+        assertThat(query.getValue().format()).isEqualTo(ExportFormat.CSV);
+        assertThat(query.getValue().filter()).isEqualTo(new TransactionFilter(LocalDate.of(2025, 3, 1),
+                LocalDate.of(2025, 3, 31), "GROCERIES", Bank.MBANK, null, new BigDecimal("-500"), null));
+    }
+
+    @Test
+    void exportDefaultsToNdjson() throws Exception {
+        when(mediator.get(any(ExportTransactionsQuery.class))).thenReturn((TransactionExport) out -> {
+        });
+
+        MvcResult started = mvc.perform(get("/transactions/export")).andReturn();
+        mvc.perform(asyncDispatch(started))
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.ndjson\""));
+    }
+
+    @Test
+    void unknownExportFormatIsBadRequest() throws Exception {
+        mvc.perform(get("/transactions/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Nieznany format eksportu: xlsx (ndjson albo csv)"));
+
+        verifyNoInteractions(mediator);
+    }
+}
@@ -0,0 +1,114 @@
+package pl.mifi.account.application.classification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.mifi.account.application.classification.response.ReclassificationProgress;
+import pl.mifi.account.application.classification.response.ReclassificationProgress.Status;
+import pl.mifi.account.domain.Bank;
+import pl.mifi.account.domain.CategorySource;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.TransactionCategoryWriter;
+import pl.mifi.account.infrastruture.TransactionCategoryWriter.CategoryChange;
+import pl.mifi.account.infrastruture.TransactionRepository;
+import pl.mifi.cqrs.Mediator;
+import pl.mifi.database.PostgresJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@PostgresJpaTest
+@Import(TransactionCategoryWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // zadanie czyta na własnym wątku – dane muszą być zatwierdzone
+class ReclassificationJobDatabaseTest {
+
+    @Autowired
+    private TransactionRepository repository;
+    @Autowired
+    private TransactionCategoryWriter writer;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void manuallyCategorisedRowSurvivesReclassification() {
+        Transaction imported = repository.save(transaction(CategorySource.RULE));
+        Transaction legacy = repository.save(transaction(null));
+        Transaction manual = repository.save(transaction(CategorySource.MANUAL));
+
+        ReclassificationProgress progress = run();
+
+        assertThat(progress.status()).isEqualTo(Status.COMPLETED);
+        assertThat(progress.scanned()).isEqualTo(2);
+        assertThat(category(imported)).isEqualTo("SUBSCRIPTION");
+        assertThat(category(legacy)).isEqualTo("SUBSCRIPTION");
+        assertThat(category(manual)).isEqualTo("GROCERIES");
+        // historia podpowiedzi dalej uczy się także z ręcznych kategorii
+        assertThat(repository.findTitlesAfter(0, Limit.of(10))).hasSize(3);
+    }
+
+    @Test
+    void writerSkipsRowMadeManualAfterTheScan() {
+        Transaction row = repository.save(transaction(CategorySource.MANUAL));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                writer.update(List.of(new CategoryChange(row.getId(), "SUBSCRIPTION"))));
+
+        assertThat(category(row)).isEqualTo("GROCERIES");
+    }
+
+    private ReclassificationProgress run() {
+        Mediator mediator = mock(Mediator.class);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        doAnswer(invocation -> {
+            UpdateTransactionCategoriesCommand command = invocation.getArgument(0);
+            tx.executeWithoutResult(status -> writer.update(command.changes()));
+            return null;
+        }).when(mediator).send(any(UpdateTransactionCategoriesCommand.class));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("mediator", mediator);
+        ReclassificationJob job = new ReclassificationJob(repository, beanFactory.getBeanProvider(Mediator.class), 2, 2);
+        try {
+            job.start(0);
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (job.progress().status() == Status.RUNNING && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return job.progress();
+        } finally {
+            job.shutdown();
+        }
+    }
+
+    private String category(Transaction transaction) {
+        return jdbcTemplate.queryForObject("select category from transaction where id = ?", String.class, transaction.getId());
+    }
+
+    private static Transaction transaction(CategorySource source) {
+        Transaction t = new Transaction(new BigDecimal("-49.00"), "EXPENSE", "GROCERIES", "acc",
+                new Date(1_735_689_600_000L), null, "NETFLIX.COM", Bank.MBANK);
+        t.setCategorySource(source);
+        return t;
+    }
+}
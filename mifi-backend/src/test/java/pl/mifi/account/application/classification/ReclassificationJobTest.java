@@ -0,0 +1,116 @@
+package pl.mifi.account.application.classification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.domain.Limit;
+import pl.mifi.account.application.classification.response.ReclassificationProgress;
+import pl.mifi.account.application.classification.response.ReclassificationProgress.Status;
+import pl.mifi.account.infrastruture.TitleCategoryClassifier;
+import pl.mifi.account.infrastruture.TransactionRepository;
+import pl.mifi.account.infrastruture.TransactionTitle;
+import pl.mifi.cqrs.Mediator;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReclassificationJobTest {
+
+    private static final int CHUNK = 3;
+
+    private final TransactionRepository repository = mock(TransactionRepository.class);
+    private final Mediator mediator = mock(Mediator.class);
+    private final ReclassificationJob job = job(mediator);
+
+    @AfterEach
+    void shutdown() {
+        job.shutdown();
+    }
+
+    @Test
+    void sendsOnlyChangedCategoriesChunkByChunk() {
+        rows(7);
+
+        ReclassificationProgress progress = awaitEnd();
+
+        assertThat(progress.status()).isEqualTo(Status.COMPLETED);
+        assertThat(progress.scanned()).isEqualTo(7);
+        // parzyste id (2, 4, 6) mają zapisaną złą kategorię
+        assertThat(progress.updated()).isEqualTo(3);
+        // paczki [1-3], [4-6], [7] – ostatnia bez zmian nie idzie do bazy
+        verify(mediator, times(2)).send(any(UpdateTransactionCategoriesCommand.class));
+    }
+
+    @Test
+    void failureIsReportedInProgress() {
+        rows(7);
+        doThrow(new IllegalStateException("deadlock detected")).when(mediator).send(any());
+
+        ReclassificationProgress progress = awaitEnd();
+
+        assertThat(progress.status()).isEqualTo(Status.FAILED);
+        assertThat(progress.error()).isEqualTo("deadlock detected");
+    }
+
+    @Test
+    void cancelStopsBetweenChunksWithoutInterruptingTheWrite() throws Exception {
+        rows(30);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        boolean[] interrupted = {false};
+        doAnswer(invocation -> {
+            writing.countDown();
+            cancelled.await(5, TimeUnit.SECONDS);
+            interrupted[0] = Thread.currentThread().isInterrupted();
+            return null;
+        }).when(mediator).send(any());
+
+        job.start(0);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        job.cancel();
+        cancelled.countDown();
+        ReclassificationProgress progress = awaitEnd();
+
+        assertThat(progress.status()).isEqualTo(Status.CANCELLED);
+        assertThat(progress.scanned()).isEqualTo(CHUNK);
+        assertThat(interrupted[0]).isFalse();
+    }
+
+    /** {@code count} wierszy po id 1..count; parzyste mają kategorię inną niż da klasyfikator. */
+    private void rows(int count) {
+        when(repository.count()).thenReturn((long) count);
+        when(repository.findRuleCategorizedTitlesAfter(anyLong(), eq(Limit.of(CHUNK)))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return LongStream.rangeClosed(after + 1, Math.min(after + CHUNK, count))
+                    .mapToObj(id -> new TransactionTitle(id, "NETFLIX.COM", id % 2 == 0 ? "GROCERIES" : category()))
+                    .toList();
+        });
+    }
+
+    private static String category() {
+        return TitleCategoryClassifier.classify("NETFLIX.COM").name();
+    }
+
+    private ReclassificationProgress awaitEnd() {
+        if (job.progress().status() == Status.IDLE) job.start(0);
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (job.progress().status() == Status.RUNNING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return job.progress();
+    }
+
+    private ReclassificationJob job(Mediator mediator) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("mediator", mediator);
+        return new ReclassificationJob(repository, beanFactory.getBeanProvider(Mediator.class), CHUNK, 2);
+    }
+}
@@ -0,0 +1,102 @@
+package pl.mifi.account.application.transaction;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mifi.account.domain.Bank;
+import pl.mifi.account.domain.CategorySource;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.TitleCategoryClassifier;
+import pl.mifi.account.infrastruture.TransactionFingerprints;
+import pl.mifi.account.infrastruture.TransactionRepository;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class CreateTransactionCommandHandlerTest {
+
+    private final TransactionRepository repository = mock(TransactionRepository.class);
+    private final TransactionFingerprints fingerprints = mock(TransactionFingerprints.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final CreateTransactionCommandHandler handler =
+            new CreateTransactionCommandHandler(repository, fingerprints, entityManager, 2);
+
+    @BeforeEach
+    void noExistingFingerprints() {
+        when(fingerprints.existing(anyCollection())).thenReturn(Set.of());
+    }
+
+    @Test
+    void batchDetachesOnlyItsOwnEntitiesAtChunkBoundaries() {
+        handler.handleAll(List.of(command("A", "-1.00"), command("B", "-2.00"), command("C", "-3.00")));
+
+        verify(entityManager, times(3)).persist(any(Transaction.class));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(3)).detach(any(Transaction.class));
+        // transakcję sendAll dzielą inne handlery – ich encji nie wolno odpinać
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void batchSkipsRepeatsWithinTheSameChunk() {
+        handler.handleAll(List.of(command("A", "-1.00"), command("A", "-1.00")));
+
+        verify(entityManager, times(1)).persist(any(Transaction.class));
+    }
+
+    @Test
+    void categoryIsLearnedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            int before = TitleCategoryClassifier.historyTokens();
+
+            handler.handle(command("QWXAFTERCOMMIT SKLEP", "-1.00"));
+            assertThat(TitleCategoryClassifier.historyTokens()).isEqualTo(before);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(TitleCategoryClassifier.historyTokens()).isGreaterThan(before);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rejectedAndDuplicateCommandsTeachNothing() {
+        int before = TitleCategoryClassifier.historyTokens();
+        CreateTransactionCommand withoutDate = new CreateTransactionCommand(new BigDecimal("-1.00"), "EXPENSE",
+                "GROCERIES", "acc", null, null, "QWXREJECTED SKLEP", Bank.MBANK);
+
+        assertThatThrownBy(() -> handler.handle(withoutDate)).isInstanceOf(IllegalArgumentException.class);
+        when(fingerprints.existing(anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(0)));
+        handler.handle(command("QWXDUPLICATE SKLEP", "-1.00"));
+        handler.handleAll(List.of(command("QWXDUPLICATEBATCH SKLEP", "-1.00")));
+
+        assertThat(TitleCategoryClassifier.historyTokens()).isEqualTo(before);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void categoryGivenByUserIsMarkedManual() {
+        handler.handle(command("NETFLIX.COM", "-1.00"));
+
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getCategorySource()).isEqualTo(CategorySource.MANUAL);
+    }
+
+    static CreateTransactionCommand command(String title, String amount) {
+        return new CreateTransactionCommand(new BigDecimal(amount), "EXPENSE", "GROCERIES", "acc",
+                new Date(1_735_689_600_000L), null, title, Bank.MBANK);
+    }
+}
@@ -0,0 +1,172 @@
+package pl.mifi.account.application.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import pl.mifi.account.application.transaction.response.TransactionExport;
+import pl.mifi.account.application.transaction.response.TransactionPage;
+import pl.mifi.account.domain.Bank;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.domain.TransactionFilter;
+import pl.mifi.account.infrastruture.TransactionRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExportTransactionsQueryHandlerTest {
+
+    private static final TransactionFilter FILTER = new TransactionFilter(null, null, null, Bank.MBANK, null, null, null);
+
+    // ten sam builder, z którego Spring Boot składa ObjectMapper odpowiedzi GET /transactions
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final TransactionRepository repository = mock(TransactionRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ExportTransactionsQueryHandler handler =
+            new ExportTransactionsQueryHandler(repository, entityManager, objectMapper, transactionManager);
+
+    ExportTransactionsQueryHandlerTest() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void ndjsonLineHasTheShapeOfATransactionsPageItem() throws IOException {
+        Transaction grocery = transaction("BIEDRONKA 3021", "-23.45", "GROCERIES");
+        Transaction salary = transaction("PRZELEW \"PENSJA\"\nLUTY", "8000.00", "INCOME");
+        stream(grocery, salary);
+
+        String body = export(ExportFormat.NDJSON);
+
+        List<String> lines = body.lines().toList();
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.writeValueAsString(new TransactionPage(List.of(grocery, salary), null)))
+                .isEqualTo("{\"items\":[" + lines.get(0) + "," + lines.get(1) + "],\"next\":null}");
+    }
+
+    @Test
+    void csvHasHeaderAndQuotesSpecialCharacters() throws IOException {
+        Transaction restaurant = transaction("BAR \"POD LIPAMI\", POZNAN", "-120.50", "RESTAURANTS");
+        restaurant.setDescription("linia 1\nlinia 2");
+        Transaction empty = transaction("ZABKA", "-3.00", "GROCERIES");
+        empty.setAccount(null);
+        stream(restaurant, empty);
+
+        String body = export(ExportFormat.CSV);
+
+        assertThat(body).startsWith("id,date,amount,type,category,bank,title,description,account\r\n");
+        assertThat(body).contains(",\"BAR \"\"POD LIPAMI\"\", POZNAN\",\"linia 1\nlinia 2\",");
+        List<CSVRecord> records = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).get()
+                .parse(new StringReader(body)).getRecords();
+        assertThat(records).hasSize(2);
+        CSVRecord first = records.get(0);
+        assertThat(first.get("date")).isEqualTo("2025-03-14T00:00:00");
+        assertThat(first.get("amount")).isEqualTo("-120.50");
+        assertThat(first.get("bank")).isEqualTo("MBANK");
+        assertThat(first.get("title")).isEqualTo("BAR \"POD LIPAMI\", POZNAN");
+        assertThat(first.get("description")).isEqualTo("linia 1\nlinia 2");
+        assertThat(records.get(1).get("account")).isEmpty();
+    }
+
+    @Test
+    void responseIsFlushedAndContextClearedAfterEveryChunk() throws IOException {
+        int rows = 2 * ExportTransactionsQueryHandler.CHUNK + 200;
+        stream(IntStream.range(0, rows).mapToObj(i -> transaction("SKLEP " + i, "-1.00", "OTHER")).toArray(Transaction[]::new));
+        FlushRecorder out = new FlushRecorder();
+
+        handler.handle(new ExportTransactionsQuery(FILTER, ExportFormat.NDJSON)).writeTo(out);
+
+        // nagłówki przed pierwszą paczką, potem po każdej pełnej paczce i na koniec reszta
+        assertThat(out.linesAtFlush).containsExactly(0, 500, 1000, rows);
+        verify(entityManager, times(2)).clear();
+        verify(repository).stream(FILTER, ExportTransactionsQueryHandler.CHUNK);
+    }
+
+    @Test
+    void databaseIsReadInAReadOnlyTransactionOnlyWhenTheBodyIsWritten() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(repository.stream(FILTER, ExportTransactionsQueryHandler.CHUNK))
+                .thenReturn(Stream.of(transaction("ZABKA", "-3.00", "GROCERIES")).onClose(() -> closed.set(true)));
+
+        TransactionExport export = handler.handle(new ExportTransactionsQuery(FILTER, ExportFormat.CSV));
+        verifyNoInteractions(repository, transactionManager);
+
+        export.writeTo(new ByteArrayOutputStream());
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void clientAbortSurfacesAsIOException() {
+        stream(transaction("ZABKA", "-3.00", "GROCERIES"));
+        IOException broken = new IOException("Broken pipe");
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw broken;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                throw broken;
+            }
+        };
+
+        assertThatThrownBy(() -> handler.handle(new ExportTransactionsQuery(FILTER, ExportFormat.CSV)).writeTo(out))
+                .isSameAs(broken);
+    }
+
+    private void stream(Transaction... transactions) {
+        when(repository.stream(FILTER, ExportTransactionsQueryHandler.CHUNK)).thenReturn(Stream.of(transactions));
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        handler.handle(new ExportTransactionsQuery(FILTER, format)).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Transaction transaction(String title, String amount, String category) {
+        Date date = Date.from(LocalDateTime.of(2025, 3, 14, 0, 0).atZone(ZoneId.systemDefault()).toInstant());
+        String type = amount.startsWith("-") ? "EXPENSE" : "INCOME";
+        return new Transaction(new BigDecimal(amount), type, category, "PL61109010140000071219812874", date, null,
+                title, Bank.MBANK);
+    }
+
+    /** Zapamiętuje, ile pełnych linii dotarło do klienta przy każdym {@code flush()}. */
+    private static final class FlushRecorder extends ByteArrayOutputStream {
+        final List<Integer> linesAtFlush = new ArrayList<>();
+
+        @Override
+        public void flush() {
+            linesAtFlush.add((int) toString(StandardCharsets.UTF_8).chars().filter(c -> c == '\n').count());
+        }
+    }
+}
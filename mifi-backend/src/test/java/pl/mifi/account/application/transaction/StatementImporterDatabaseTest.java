@@ -0,0 +1,148 @@
+package pl.mifi.account.application.transaction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.mifi.account.application.transaction.response.ImportSummary;
+import pl.mifi.account.domain.Bank;
+import pl.mifi.account.domain.CategorySource;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.TransactionFingerprints;
+import pl.mifi.account.infrastruture.TransactionInserter;
+import pl.mifi.account.infrastruture.csv.CsvTransactionReader;
+import pl.mifi.account.infrastruture.csv.ParseIssue;
+import pl.mifi.database.PostgresJpaTest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.ReadableByteChannel;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@PostgresJpaTest
+@Import({StatementImporter.class, TransactionInserter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // każdy import we własnej transakcji, jak w aplikacji
+class StatementImporterDatabaseTest {
+
+    @Autowired
+    private StatementImporter importer;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoBean
+    private TransactionFingerprints fingerprints;
+
+    @BeforeEach
+    void noFingerprintKnownYet() {
+        // oba importy przechodzą wstępne sprawdzenie – jak przy wyścigu dwóch plików naraz
+        when(fingerprints.existing(anyCollection())).thenReturn(Set.of());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from transaction");
+    }
+
+    @Test
+    void importedRowsAreStoredWithAllColumns() {
+        ImportSummary summary = importInTransaction(new Rows(0, 3), () -> {});
+
+        assertThat(summary.imported()).isEqualTo(3);
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select amount, bank, category, category_source, date, title, type, fingerprint from transaction where title = 'SKLEP 1'");
+        assertThat(row).containsEntry("amount", new BigDecimal("-2.00"))
+                .containsEntry("bank", Bank.PKO_BP.ordinal())
+                .containsEntry("category", "GROCERIES")
+                .containsEntry("category_source", "RULE")
+                .containsEntry("date", new Timestamp(1_735_689_600_000L))
+                .containsEntry("type", "EXPENSE");
+        assertThat(row.get("fingerprint")).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("select count(distinct id) from transaction", Long.class)).isEqualTo(3);
+    }
+
+    @Test
+    void overlappingImportsAtTheSameTimeSkipDuplicatesInsteadOfRollingBack() throws Exception {
+        CountDownLatch firstInserted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        // pierwszy plik: wiersze 0..5, transakcja trzymana otwarta po wstawieniu
+        CompletableFuture<ImportSummary> first = CompletableFuture.supplyAsync(() -> importInTransaction(new Rows(0, 6), () -> {
+            firstInserted.countDown();
+            await(releaseFirst);
+        }));
+        assertThat(firstInserted.await(10, TimeUnit.SECONDS)).isTrue();
+        // drugi plik: wiersze 3..8 – trzy wspólne czekają na indeksie unikalnym na commit pierwszego
+        CompletableFuture<ImportSummary> second = CompletableFuture.supplyAsync(() -> importInTransaction(new Rows(3, 6), () -> {}));
+        Thread.sleep(300);
+        assertThat(second).isNotDone();
+        releaseFirst.countDown();
+
+        ImportSummary a = first.get(10, TimeUnit.SECONDS);
+        ImportSummary b = second.get(10, TimeUnit.SECONDS);
+
+        assertThat(a.imported()).isEqualTo(6);
+        assertThat(b.imported()).isEqualTo(3);
+        assertThat(b.duplicates()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from transaction", Long.class)).isEqualTo(9);
+    }
+
+    private ImportSummary importInTransaction(CsvTransactionReader reader, Runnable beforeCommit) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            try {
+                ImportSummary summary = importer.importRows(reader, null);
+                beforeCommit.run();
+                return summary;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Wiersze {@code from .. from + count - 1}; ten sam numer to ten sam wiersz wyciągu. */
+    private record Rows(int from, int count) implements CsvTransactionReader {
+
+        @Override
+        public boolean accepts(String fileName) {
+            return true;
+        }
+
+        @Override
+        public void read(ReadableByteChannel source, Consumer<? super Transaction> sink,
+                         Consumer<? super ParseIssue> issues) {
+            for (int i = from; i < from + count; i++) {
+                Transaction t = new Transaction(new BigDecimal("-" + (i + 1) + ".00"), "EXPENSE", "GROCERIES", "acc",
+                        new Date(1_735_689_600_000L), null, "SKLEP " + i, Bank.PKO_BP);
+                t.setCategorySource(CategorySource.RULE);
+                sink.accept(t);
+            }
+        }
+    }
+}
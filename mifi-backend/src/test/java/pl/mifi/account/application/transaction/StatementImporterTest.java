@@ -0,0 +1,119 @@
+package pl.mifi.account.application.transaction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mifi.account.application.transaction.response.ImportSummary;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.TitleCategoryClassifier;
+import pl.mifi.account.infrastruture.TransactionFingerprints;
+import pl.mifi.account.infrastruture.TransactionInserter;
+import pl.mifi.account.infrastruture.csv.CsvTransactionReader;
+import pl.mifi.account.infrastruture.csv.ParseIssue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatementImporterTest {
+
+    private final TransactionFingerprints fingerprints = mock(TransactionFingerprints.class);
+    private final TransactionInserter inserter = mock(TransactionInserter.class);
+    private final StatementImporter importer = new StatementImporter(fingerprints, inserter, 100);
+
+    @BeforeEach
+    void inserterStoresEveryRow() {
+        when(inserter.insertNew(anyList())).thenAnswer(invocation -> {
+            List<Transaction> rows = invocation.getArgument(0);
+            return rows.stream().map(Transaction::getFingerprint).collect(Collectors.toSet());
+        });
+    }
+
+    @Test
+    void summaryCountsEveryRejectedRowButKeepsOnlyASample() throws IOException {
+        when(fingerprints.existing(anyCollection())).thenReturn(Set.of());
+        int rejected = StatementImporter.MAX_REPORTED_ISSUES + 5;
+
+        ImportSummary summary = importer.importRows(new StubReader(2, rejected), null);
+
+        assertThat(summary.imported()).isEqualTo(2);
+        assertThat(summary.failed()).isEqualTo(rejected);
+        assertThat(summary.issues()).hasSize(StatementImporter.MAX_REPORTED_ISSUES);
+        assertThat(summary.issues().get(0)).isEqualTo(new ParseIssue(1, "#Kwota", "#ERR", "invalid amount"));
+    }
+
+    @Test
+    void categoriesAreLearnedOnlyAfterTheFileCommits() throws IOException {
+        when(fingerprints.existing(anyCollection())).thenReturn(Set.of());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            int before = TitleCategoryClassifier.historyTokens();
+
+            importer.importRows(new StubReader(2, 0, "QWXIMPORTCOMMIT"), null);
+            assertThat(TitleCategoryClassifier.historyTokens()).isEqualTo(before);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(TitleCategoryClassifier.historyTokens()).isGreaterThan(before);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rolledBackFileTeachesNothing() throws IOException {
+        when(fingerprints.existing(anyCollection())).thenReturn(Set.of());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            int before = TitleCategoryClassifier.historyTokens();
+
+            importer.importRows(new StubReader(2, 0, "QWXIMPORTROLLBACK"), null);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            assertThat(TitleCategoryClassifier.historyTokens()).isEqualTo(before);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /** Najpierw {@code rows} poprawnych wierszy, potem {@code rejected} z błędną kwotą. */
+    private record StubReader(int rows, int rejected, String title) implements CsvTransactionReader {
+
+        StubReader(int rows, int rejected) {
+            this(rows, rejected, "ŻABKA");
+        }
+
+        @Override
+        public boolean accepts(String fileName) {
+            return true;
+        }
+
+        @Override
+        public void read(ReadableByteChannel source, Consumer<? super Transaction> sink,
+                         Consumer<? super ParseIssue> issues) {
+            for (int i = 0; i < rows; i++) {
+                Transaction t = new Transaction();
+                t.setTitle(title + " " + i);
+                t.setAmount(new BigDecimal("-" + (i + 1)));
+                t.setDate(new Date(1_735_689_600_000L));
+                t.setCategory("GROCERIES");
+                sink.accept(t);
+            }
+            for (int i = 1; i <= rejected; i++) {
+                issues.accept(new ParseIssue(i, "#Kwota", "#ERR", "invalid amount"));
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package pl.mifi.account.application.transaction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import pl.mifi.account.infrastruture.TransactionSearchRepository;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSameKey() {
+        TransactionCursor cursor = new TransactionCursor(new Date(1_735_689_600_123L), new BigDecimal("-1234.50"), 42L);
+
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        // skala kwoty przechodzi bez zmian – porównanie krotek w bazie nie może przeskoczyć wiersza
+        assertThat(decoded.amount().scale()).isEqualTo(2);
+        assertThat(decoded.key()).isEqualTo(new TransactionSearchRepository.PageKey(
+                new Date(1_735_689_600_123L), new BigDecimal("-1234.50"), 42L));
+    }
+
+    @Test
+    void cursorIsUrlSafeAndUnpadded() {
+        TransactionCursor cursor = new TransactionCursor(new Date(-86_400_000L), new BigDecimal("1000"), Long.MAX_VALUE);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(TransactionCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not base64!", "MTIz", "YWJjOjEuMDA6Nw", "MTIzOjEuMDA"})
+    void malformedCursorIsRejectedAsBadRequest(String cursor) {
+        assertThatThrownBy(() -> TransactionCursor.decode(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+}
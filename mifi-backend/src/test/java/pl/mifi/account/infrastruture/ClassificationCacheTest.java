@@ -0,0 +1,80 @@
+package pl.mifi.account.infrastruture;
+
+import org.junit.jupiter.api.Test;
+import pl.mifi.account.domain.TransactionCategory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassificationCacheTest {
+
+    private final List<String> classified = new ArrayList<>();
+    private final Function<String, TransactionCategory> classifier = title -> {
+        classified.add(title);
+        return TransactionCategory.GROCERIES;
+    };
+
+    @Test
+    void repeatedTitleIsServedWithoutClassifying() {
+        ClassificationCache cache = new ClassificationCache(10);
+
+        cache.get("BIEDRONKA", classifier);
+        cache.get("BIEDRONKA", classifier);
+        cache.get("LIDL", classifier);
+
+        assertThat(classified).containsExactly("BIEDRONKA", "LIDL");
+        ClassificationCacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.size()).isEqualTo(2);
+    }
+
+    @Test
+    void sizeIsBoundedAndOldestEntriesGoFirst() {
+        ClassificationCache cache = new ClassificationCache(3);
+
+        for (String title : List.of("A", "B", "C", "D", "E")) {
+            cache.get(title, classifier);
+        }
+        classified.clear();
+        cache.get("E", classifier);
+        cache.get("C", classifier);
+        cache.get("A", classifier);
+
+        // A i B wypadły jako najstarsze; A liczone od nowa
+        assertThat(classified).containsExactly("A");
+        ClassificationCacheStats stats = cache.stats();
+        assertThat(stats.size()).isEqualTo(3);
+        assertThat(stats.maxSize()).isEqualTo(3);
+        assertThat(stats.evictions()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidationDropsEveryEntry() {
+        ClassificationCache cache = new ClassificationCache(10);
+        cache.get("BIEDRONKA", classifier);
+
+        cache.invalidateAll();
+        cache.get("BIEDRONKA", classifier);
+
+        assertThat(classified).containsExactly("BIEDRONKA", "BIEDRONKA");
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void resultComputedDuringInvalidationDoesNotSurviveIt() {
+        ClassificationCache cache = new ClassificationCache(10);
+
+        // reguły podmienione, gdy klasyfikacja na starych jeszcze trwa
+        cache.get("BIEDRONKA", title -> {
+            cache.invalidateAll();
+            return TransactionCategory.UNKNOWN;
+        });
+
+        assertThat(cache.get("BIEDRONKA", classifier)).isEqualTo(TransactionCategory.GROCERIES);
+        assertThat(classified).containsExactly("BIEDRONKA");
+    }
+}
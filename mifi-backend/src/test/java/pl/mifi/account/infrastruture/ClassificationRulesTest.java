@@ -0,0 +1,63 @@
+package pl.mifi.account.infrastruture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mifi.account.domain.ClassificationRule;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class ClassificationRulesTest {
+
+    private final ClassificationRuleRepository repository = mock(ClassificationRuleRepository.class);
+    private final ClassificationRules rules = new ClassificationRules(repository);
+
+    @BeforeEach
+    void defaultRulesInRepository() {
+        // klasyfikator jest globalny – przeładowanie w teście nie może zostawić go bez reguł
+        List<ClassificationRule> rows = TitleCategoryClassifier.defaultRules().stream()
+                .map(rule -> new ClassificationRule(rule.pattern().pattern(), rule.category(), 10, true))
+                .toList();
+        when(repository.findByEnabledTrueOrderByPriorityAscIdAsc()).thenReturn(rows);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reloadWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        rules.reloadAfterCommit();
+        verify(repository, never()).findByEnabledTrueOrderByPriorityAscIdAsc();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(repository).findByEnabledTrueOrderByPriorityAscIdAsc();
+    }
+
+    @Test
+    void rolledBackChangeDoesNotReload() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        rules.reloadAfterCommit();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(repository, never()).findByEnabledTrueOrderByPriorityAscIdAsc();
+    }
+
+    @Test
+    void withoutTransactionReloadsImmediately() {
+        rules.reloadAfterCommit();
+
+        verify(repository).findByEnabledTrueOrderByPriorityAscIdAsc();
+    }
+}
@@ -0,0 +1,120 @@
+package pl.mifi.account.infrastruture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import pl.mifi.account.domain.TransactionCategory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Automat musi wskazywać tę samą regułę co dawna pętla "pierwszy {@code find()} wygrywa"
+ * – inaczej zmieniłyby się kategorie już sklasyfikowanych tytułów.
+ */
+class RuleAutomatonTest {
+
+    // tytuły z wyciągów mBanku/PKO/Santandera, po normalizacji
+    private static final List<String> TITLES = Stream.of(
+            "ZABKA Z1234 K.1 POZNAN", "LIDL SWIETY MARCIN POZNAN", "BIEDRONKA 3021 POZNAN",
+            "MCDONALDS 123 POZNAN", "MC DONALD S POZNAN DWORZEC", "KFC POZNAN PLAZA", "BURGER KING 17",
+            "APTEKA POD ORLEM", "APTEKAONLINE PL", "SUPER-PHARM POSNANIA", "ROSSMANN 123", "HEBE 0456",
+            "ORLEN STACJA NR 123", "BP-KASZUBSKA", "SHELL 1234 WARSZAWA", "MOYA STACJA PALIW",
+            "SPOTIFY P12345", "NETFLIX.COM", "YOUTUBE PREMIUM", "AMAZON PRIME*AB12",
+            "UBER *TRIP HELP.UBER.COM", "BOLT.EU/O/2501", "JAKDOJADE.PL BILET", "SPP POZNAN PARKOMAT",
+            "CINEMA CITY POZNAN PLAZA", "WWW.CINEMA-CITY.PL", "KINO MUZA", "MUZEUM NARODOWE",
+            "IKEA POZNAN", "PEPCO 1234", "PEPCO BEAUTY", "TK MAXX POSNANIA", "ACTION 3012", "SINSAY",
+            "RESTAURACJA GOSPODA POD KOZIOLKAMI", "PIZZERIA NAPOLI", "SUSHI KOKORO", "THAI ORCHID",
+            "STARBUCKS POZNAN", "COSTA COFFEE", "TCHIBO 55", "LODY CALISIA", "CUKIERNIA SOWA",
+            "ERT WYPIEKI SP. Z / O BISKUPICE", "KAUFLAND POZNAN", "CARREFOUR EXPRESS", "DINO POLSKA",
+            "PRZELEW WLASNY", "PRZELEW ZUS SKLADKA", "WYPLATA BANKOMAT", "OPLATA ZA KARTE", "",
+            "KFCSUSHI", "XLIDLX", "LIDL_", "DM DROGERIE MARKT", "VEMAT AUTMOATY", "NAITHA")
+            .map(TitleNormalizer::normalize)
+            .toList();
+
+    // składnia, której parser literałów nie rozbiera – reguła musi zostać zwykłym regexem
+    static Stream<Arguments> opaquePatterns() {
+        return Stream.of(
+                arguments("\\x41BC", "XABCX"),
+                arguments("\\u0041BC", "XABCX"),
+                arguments("\\0101BC", "XABCX"),
+                arguments("\\QX(\\EFOO|BAR", "ZBARZ"),
+                arguments("\\QX(\\EFOO|BAR", "X(FOO"),
+                arguments("\\QA|B\\E", "A|B"),
+                arguments("\\cAKFC", "\u0001KFC"),
+                arguments("\\N{LATIN CAPITAL LETTER A}BC", "ABC"),
+                arguments("\\pLBC", "ABC"),
+                arguments("(?<x>A)\\k<x>BC", "AABC"),
+                arguments("(?i)lidl", "LIDL"),
+                arguments("(?i:lidl)\\b", "LIDL"),
+                arguments("\\\u20ACEUR", "\u20ACEUR"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("opaquePatterns")
+    void ruleWithOpaqueSyntaxStillFires(String regex, String title) {
+        Pattern pattern = Pattern.compile(regex);
+        assertThat(pattern.matcher(title).find()).isTrue();
+
+        RuleAutomaton automaton = RuleAutomaton.compile(List.of(Pattern.compile("NEVER"), pattern));
+
+        assertThat(automaton.firstMatch(title)).isEqualTo(1);
+        assertThat(automaton.firstMatch("NOTHING HERE")).isEqualTo(-1);
+    }
+
+    @Test
+    void defaultRulesAgreeWithSequentialMatchingOnRealTitles() {
+        List<Pattern> rules = TitleCategoryClassifier.defaultRules().stream().map(TitleCategoryClassifier.Rule::pattern).toList();
+        RuleAutomaton automaton = RuleAutomaton.compile(rules);
+
+        for (String title : TITLES) {
+            assertThat(automaton.firstMatch(title)).as(title).isEqualTo(sequential(rules, title));
+        }
+    }
+
+    @Test
+    void defaultRulesAgreeWithSequentialMatchingOnMixedTitles() {
+        List<Pattern> rules = TitleCategoryClassifier.defaultRules().stream().map(TitleCategoryClassifier.Rule::pattern).toList();
+        RuleAutomaton automaton = RuleAutomaton.compile(rules);
+        SplittableRandom random = new SplittableRandom(16);
+        List<String> words = new ArrayList<>();
+        TITLES.forEach(t -> words.addAll(List.of(t.split(" "))));
+
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder title = new StringBuilder();
+            for (int w = random.nextInt(1, 6); w > 0; w--) {
+                String word = words.get(random.nextInt(words.size()));
+                title.append(random.nextInt(4) == 0 ? word.substring(0, random.nextInt(word.length() + 1)) : word);
+                title.append(random.nextInt(6) == 0 ? "" : " ");
+            }
+            String t = title.toString();
+            assertThat(automaton.firstMatch(t)).as(t).isEqualTo(sequential(rules, t));
+        }
+    }
+
+    @Test
+    void earlierRuleWinsWhenBothLiteralsOccur() {
+        String title = TitleNormalizer.normalize("BIEDRONKA KFC POZNAN");
+
+        assertThat(TitleCategoryClassifier.classify(title)).isEqualTo(TransactionCategory.FAST_FOOD);
+        RuleAutomaton automaton = RuleAutomaton.compile(List.of(Pattern.compile("\\bKFC\\b"), Pattern.compile("BIEDRONKA")));
+        assertThat(automaton.firstMatch(title)).isEqualTo(0);
+        RuleAutomaton reversed = RuleAutomaton.compile(List.of(Pattern.compile("BIEDRONKA"), Pattern.compile("\\bKFC\\b")));
+        assertThat(reversed.firstMatch(title)).isEqualTo(0);
+    }
+
+    /** Dawna klasyfikacja: reguły po kolei, pierwsza pasująca wygrywa. */
+    private static int sequential(List<Pattern> rules, String title) {
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).matcher(title).find()) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,52 @@
+package pl.mifi.account.infrastruture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pl.mifi.account.domain.TransactionCategory;
+import pl.mifi.account.infrastruture.TitleCategoryClassifier.Rule;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitleCategoryClassifierTest {
+
+    // tytuł spoza reguł domyślnych i historii innych testów
+    private static final String TITLE = "QXZRULESWAP 42 POZNAN";
+
+    @AfterEach
+    void restoreDefaultRules() {
+        // klasyfikator jest globalny
+        TitleCategoryClassifier.useRules(TitleCategoryClassifier.defaultRules());
+    }
+
+    @Test
+    void swappedRulesApplyToTitlesAlreadyInCache() {
+        TitleCategoryClassifier.useRules(List.of(rule("QXZRULESWAP", TransactionCategory.GROCERIES)));
+        assertThat(TitleCategoryClassifier.classify(TITLE)).isEqualTo(TransactionCategory.GROCERIES);
+        long hits = TitleCategoryClassifier.cacheStats().hits();
+        assertThat(TitleCategoryClassifier.classify(TITLE)).isEqualTo(TransactionCategory.GROCERIES);
+        assertThat(TitleCategoryClassifier.cacheStats().hits()).isEqualTo(hits + 1);
+
+        TitleCategoryClassifier.useRules(List.of(rule("QXZRULESWAP", TransactionCategory.CAFE)));
+
+        assertThat(TitleCategoryClassifier.classify(TITLE)).isEqualTo(TransactionCategory.CAFE);
+    }
+
+    @Test
+    void earlierRuleWinsAfterReorder() {
+        Rule cafe = rule("QXZRULESWAP", TransactionCategory.CAFE);
+        Rule city = rule("POZNAN", TransactionCategory.RESTAURANT);
+
+        TitleCategoryClassifier.useRules(List.of(cafe, city));
+        assertThat(TitleCategoryClassifier.classify(TITLE)).isEqualTo(TransactionCategory.CAFE);
+
+        TitleCategoryClassifier.useRules(List.of(city, cafe));
+        assertThat(TitleCategoryClassifier.classify(TITLE)).isEqualTo(TransactionCategory.RESTAURANT);
+    }
+
+    private static Rule rule(String regex, TransactionCategory category) {
+        return new Rule(Pattern.compile(regex), category);
+    }
+}
@@ -0,0 +1,118 @@
+package pl.mifi.account.infrastruture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.text.Normalizer;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * {@link TitleNormalizer} musi dawać bajt w bajt to samo co dwie dawne kopie normalizacji
+ * (klasyfikator i odcisk w imporcie) – inaczej zmieniłyby się kategorie i odciski zapisanych transakcji.
+ */
+class TitleNormalizerTest {
+
+    static Stream<Arguments> titles() {
+        return Stream.of(
+                // polskie znaki: ogonki znikają, Ł/ł nie ma rozkładu NFD – staje się separatorem
+                arguments("Żabka Z1234 Kraków", "ZABKA Z1234 KRAKOW"),
+                arguments("ZAŻÓŁĆ GĘŚLĄ JAŹŃ", "ZAZO C GESLA JAZN"),
+                arguments("zażółć gęślą jaźń", "ZAZO C GESLA JAZN"),
+                arguments("ŁÓDŹ Kaliska", "ODZ KALISKA"),
+                // NBSP, tabulator i ciągi spacji jako jedna spacja
+                arguments("LIDL\u00A0SP\u00A0Z O\u00A0O", "LIDL SP Z O O"),
+                arguments("  BIEDRONKA \t\t 3021  ", "BIEDRONKA 3021"),
+                // mieszana wielkość liter
+                arguments("McDonald's Poznań", "MCDONALD S POZNAN"),
+                arguments("sPoTiFy p12345", "SPOTIFY P12345"),
+                // ciągi interpunkcji, slashe i backslashe
+                arguments("UBER *TRIP --- HELP.UBER.COM", "UBER TRIP HELP UBER COM"),
+                arguments("PRZELEW/ZUS\\\\SKŁADKA!!!", "PRZELEW ZUS SK ADKA"),
+                arguments("...,,,;;;", ""),
+                // ucięcie od "DATA TRANSAKCJI" (tylko wielkimi literami, jak dawniej)
+                arguments("ŻABKA Z1234 POZNAN DATA TRANSAKCJI: 2025-01-02", "ZABKA Z1234 POZNAN"),
+                arguments("ŻABKA data transakcji 2025-01-02", "ZABKA DATA TRANSAKCJI 2025 01 02"),
+                arguments("DATA TRANSAKCJI: 2025-01-02", ""),
+                // znaki łączące już rozłożone; ligatury i cyfry spoza ASCII NFD nie rozkłada – są separatorem
+                arguments("Café Néro", "CAFE NERO"),
+                arguments("\uFB01nanse Œuvre ß", "NANSE UVRE"),
+                arguments("٣ sklep", "SKLEP"),
+                arguments("", ""));
+    }
+
+    @ParameterizedTest
+    @MethodSource("titles")
+    void matchesBothFormerNormalizers(String title, String expected) {
+        String normalized = TitleNormalizer.normalize(title);
+
+        assertThat(normalized).isEqualTo(expected);
+        assertThat(normalized).isEqualTo(LegacyClassifier.normalizeTitle(title));
+        assertThat(normalized).isEqualTo(LegacyImporter.normalizeTitle(title));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"가나다", "Ǆ Ǉ", "Ⅻ ⑤", "İstanbul ıı", "😀 emoji 🇵🇱", "\uD800 lone"})
+    void matchesFormerNormalizerOnComplexCharacters(String title) {
+        assertThat(TitleNormalizer.normalize(title)).isEqualTo(LegacyClassifier.normalizeTitle(title));
+    }
+
+    @Test
+    void nullIsEmptyLikeTheFormerImporter() {
+        assertThat(TitleNormalizer.normalize(null)).isEqualTo(LegacyImporter.normalizeTitle(null)).isEmpty();
+    }
+
+    @Test
+    void matchesFormerNormalizerOnRandomTitles() {
+        String alphabet = "abcxyzABCXYZ019 ąćęłńóśźżĄĆĘŁŃÓŚŹŻ\u00A0\t/\\-.,*'!#&()\u0301\u0328\uFB01ß가";
+        SplittableRandom random = new SplittableRandom(18);
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder title = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++) title.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            if (random.nextInt(8) == 0) title.append(" DATA TRANSAKCJI: 2025-01-02");
+
+            String t = title.toString();
+            assertThat(TitleNormalizer.normalize(t)).as(t).isEqualTo(LegacyClassifier.normalizeTitle(t));
+        }
+    }
+
+    /** Dawne TitleCategoryClassifier.normalizeTitle. */
+    private static final class LegacyClassifier {
+        static String normalizeTitle(String s) {
+            String t = s;
+            int idx = t.indexOf("DATA TRANSAKCJI");
+            if (idx >= 0) t = t.substring(0, idx);
+
+            String noDiacritics = Normalizer.normalize(t, Normalizer.Form.NFD)
+                    .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
+            noDiacritics = noDiacritics.replace('/', ' ').replace('\\', ' ');
+            noDiacritics = noDiacritics.replaceAll("[^A-Za-z0-9 ]+", " ").replaceAll("\\s+", " ").trim();
+            return noDiacritics.toUpperCase();
+        }
+    }
+
+    /** Dawne StatementImporter.normalizeTitle (odcisk do deduplikacji). */
+    private static final class LegacyImporter {
+        static String normalizeTitle(String raw) {
+            if (raw == null) return "";
+            String s = raw;
+            int idx = s.indexOf("DATA TRANSAKCJI");
+            if (idx >= 0) s = s.substring(0, idx);
+            s = Normalizer.normalize(s, Normalizer.Form.NFD)
+                    .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
+                    .replace('/', ' ')
+                    .replaceAll("[^A-Za-z0-9 ]+", " ")
+                    .replaceAll("\\s+", " ")
+                    .trim()
+                    .toUpperCase();
+            return s;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package pl.mifi.account.infrastruture;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionFingerprintTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 30); // zmiana czasu – doba ma 23 godziny
+
+    // daty z wyciągów to północ w strefie serwera; po zmianie strefy JDBC odczyta z bazy tę samą
+    // datę ścienną, czyli inną chwilę – odcisk zależy tylko od dnia, więc się nie zmienia
+    @Test
+    void sameCalendarDayGivesSameFingerprintAtAnyTimeOfDay() {
+        UUID midnight = TransactionFingerprint.of(at(DAY, 0), new BigDecimal("-12.50"), "Żabka Z1234");
+        UUID evening = TransactionFingerprint.of(at(DAY, 23), new BigDecimal("-12.5"), "ZABKA  Z1234");
+
+        assertThat(evening).isEqualTo(midnight);
+        assertThat(TransactionFingerprint.of(at(DAY.plusDays(1), 0), new BigDecimal("-12.50"), "Żabka Z1234"))
+                .isNotEqualTo(midnight);
+    }
+
+    @Test
+    void fingerprintCarriesItsVersion() {
+        UUID fingerprint = TransactionFingerprint.of(at(DAY, 0), BigDecimal.TEN, "NETFLIX");
+
+        assertThat(fingerprint.version()).isEqualTo(TransactionFingerprint.VERSION);
+        assertThat(fingerprint.variant()).isEqualTo(2);
+        assertThat(fingerprint.toString().charAt(14)).isEqualTo('8');
+        assertThat(TransactionFingerprint.isCurrent(fingerprint)).isTrue();
+        assertThat(TransactionFingerprint.isCurrent(UUID.fromString("123e4567-e89b-42d3-a456-426614174000"))).isFalse();
+        assertThat(TransactionFingerprint.isCurrent(null)).isFalse();
+    }
+
+    private static Date at(LocalDate day, int hour) {
+        return Date.from(day.atTime(hour, 0).atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,79 @@
+package pl.mifi.account.infrastruture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mifi.account.domain.Bank;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.FingerprintFilterStatus.State;
+import pl.mifi.database.PostgresJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // filtr ładuje się na własnym wątku
+class TransactionFingerprintsDatabaseTest {
+
+    // odcisk sprzed wersjonowania: ten sam wiersz, skrót od sekund epoki
+    private static final UUID LEGACY = UUID.fromString("3f2a9c1e-77b0-1d42-9e11-0c5a2b7d4e60");
+
+    @Autowired
+    private TransactionRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void startupRecomputesFingerprintsOfTheFormerAlgorithm() {
+        Transaction legacy = transaction("NETFLIX.COM");
+        legacy.setFingerprint(LEGACY);
+        repository.save(legacy);
+        repository.save(transaction("SPOTIFY"));   // bez odcisku – sprzed kolumny
+        Transaction current = transaction("IKEA");
+        current.setFingerprint(TransactionFingerprint.of(current));
+        repository.save(current);
+
+        assertThat(repository.findWithoutCurrentFingerprintAfter(0, Limit.of(10)))
+                .extracting(Transaction::getTitle).containsExactly("NETFLIX.COM", "SPOTIFY");
+
+        TransactionFingerprints fingerprints = new TransactionFingerprints(repository, jdbcTemplate, 1000, 2);
+        fingerprints.start();
+        awaitReady(fingerprints);
+
+        List<UUID> stored = jdbcTemplate.queryForList("select fingerprint from transaction order by id", UUID.class);
+        assertThat(stored).containsExactly(
+                TransactionFingerprint.of(transaction("NETFLIX.COM")),
+                TransactionFingerprint.of(transaction("SPOTIFY")),
+                TransactionFingerprint.of(current));
+        // ponowny import tego samego wiersza jest duplikatem
+        assertThat(fingerprints.existing(Set.of(TransactionFingerprint.of(transaction("NETFLIX.COM"))))).hasSize(1);
+    }
+
+    private static void awaitReady(TransactionFingerprints fingerprints) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (fingerprints.status().state() == State.LOADING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(fingerprints.status().state()).isEqualTo(State.READY);
+    }
+
+    private static Transaction transaction(String title) {
+        return new Transaction(new BigDecimal("-49.00"), "EXPENSE", "SUBSCRIPTION", "acc",
+                new Date(1_735_689_600_000L), null, title, Bank.MBANK);
+    }
+}
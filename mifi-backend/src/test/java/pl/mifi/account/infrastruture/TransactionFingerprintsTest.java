@@ -0,0 +1,65 @@
+package pl.mifi.account.infrastruture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.mifi.account.infrastruture.FingerprintFilterStatus.State;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TransactionFingerprintsTest {
+
+    private static final UUID STORED = new UUID(1, 1);
+
+    private final TransactionRepository repository = mock(TransactionRepository.class);
+    private final TransactionFingerprints fingerprints =
+            new TransactionFingerprints(repository, mock(JdbcTemplate.class), 1000, 100);
+
+    @Test
+    void loadedFilterAnswersUnknownFingerprintsWithoutQuery() {
+        when(repository.findWithoutCurrentFingerprintAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+        when(repository.findFingerprintsAfter(eq(new UUID(0, 0)), any(Limit.class))).thenReturn(List.of(STORED));
+        when(repository.findFingerprintsAfter(eq(STORED), any(Limit.class))).thenReturn(List.of());
+
+        FingerprintFilterStatus status = startAndAwait();
+
+        assertThat(status.state()).isEqualTo(State.READY);
+        assertThat(status.loaded()).isEqualTo(1);
+        assertThat(fingerprints.existing(List.of(new UUID(7, 7)))).isEmpty();
+        verify(repository, never()).findExistingFingerprints(anyCollection());
+    }
+
+    @Test
+    void failedLoadIsReportedAndDatabaseAnswersEverything() {
+        when(repository.findWithoutCurrentFingerprintAfter(anyLong(), any(Limit.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        when(repository.findExistingFingerprints(anyCollection())).thenReturn(Set.of());
+
+        FingerprintFilterStatus status = startAndAwait();
+
+        assertThat(status.state()).isEqualTo(State.FAILED);
+        assertThat(status.error()).isEqualTo("connection refused");
+        fingerprints.existing(List.of(new UUID(7, 7)));
+        verify(repository).findExistingFingerprints(List.of(new UUID(7, 7)));
+    }
+
+    private FingerprintFilterStatus startAndAwait() {
+        fingerprints.start();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (fingerprints.status().state() == State.LOADING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return fingerprints.status();
+    }
+}
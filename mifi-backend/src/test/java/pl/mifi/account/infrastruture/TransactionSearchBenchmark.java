@@ -0,0 +1,211 @@
+package pl.mifi.account.infrastruture;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pl.mifi.account.domain.Bank;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.domain.TransactionFilter;
+import pl.mifi.account.infrastruture.TransactionSearchRepository.PageKey;
+import pl.mifi.benchmark.Benchmark;
+import pl.mifi.benchmark.Measure;
+import pl.mifi.database.PostgresJpaTest;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pierwsza strona GET /transactions na milionie wierszy w Postgresie: p50/p99 dla filtrów z listy
+ * i {@code EXPLAIN ANALYZE} SQL-a wygenerowanego przez Hibernate – plan musi iść po indeksie
+ * zgodnym z filtrem i sortowaniem, bez sortowania całego wyniku.
+ */
+@PostgresJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // każde wyszukiwanie jak osobne żądanie
+class TransactionSearchBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE = 50;
+    private static final int WARMUP = 50;
+    private static final int REQUESTS = 500;
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2023, 1);
+    private static final int MONTHS = 36;
+    private static final List<String> CATEGORIES = List.of("GROCERIES", "FAST_FOOD", "RESTAURANTS", "TRANSPORT",
+            "FUEL", "HEALTH", "ENTERTAINMENT", "SUBSCRIPTIONS", "SHOPPING", "HOME", "OTHER");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    @Autowired
+    private TransactionRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private LastStatement lastStatement;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate transaction");
+    }
+
+    @Benchmark
+    void firstPageOfEachFilterUsesMatchingIndex() {
+        seed();
+
+        measure("month", "idx_transaction_date_amount_id",
+                i -> filter(month(i), null, null, null, null));
+        measure("category + month", "idx_transaction_category_date",
+                i -> filter(month(i), category(i), null, null, null));
+        measure("bank", "idx_transaction_bank_date",
+                i -> filter(null, null, bank(i), null, null));
+        measure("bank + month", "idx_transaction_bank_date",
+                i -> filter(month(i), null, bank(i), null, null));
+        measure("type + amount", "idx_transaction_date_amount_id",
+                i -> filter(null, null, null, "EXPENSE", new BigDecimal(-10 - i % 40)));
+    }
+
+    @Benchmark
+    void nextPageStartsRightAfterTheKey() {
+        seed();
+
+        TransactionFilter filter = filter(month(7), category(3), null, null, null);
+        List<Transaction> first = repository.search(filter, null, PAGE);
+        Transaction last = first.get(first.size() - 1);
+        PageKey after = new PageKey(last.getDate(), last.getAmount(), last.getId());
+
+        long[] latencies = Measure.latencies(WARMUP, REQUESTS, () -> repository.search(filter, after, PAGE));
+        report("category + month, page 2", latencies);
+        List<Transaction> second = repository.search(filter, after, PAGE);
+        assertThat(second).hasSize(PAGE).doesNotContainAnyElementsOf(first);
+
+        String plan = explain(lastStatement.sql, parameters(filter, after));
+        Measure.report("explain category + month, page 2", "%n%s", plan);
+        assertThat(plan).contains("idx_transaction_category_date").doesNotContain("Sort");
+    }
+
+    private void measure(String name, String index, IntFunction<TransactionFilter> filters) {
+        int[] request = {0};
+        long[] latencies = Measure.latencies(WARMUP, REQUESTS,
+                () -> repository.search(filters.apply(request[0]++), null, PAGE));
+        report(name, latencies);
+
+        TransactionFilter filter = filters.apply(0);
+        assertThat(repository.search(filter, null, PAGE)).hasSize(PAGE);
+        String plan = explain(lastStatement.sql, parameters(filter, null));
+        Measure.report("explain " + name, "%n%s", plan);
+        assertThat(plan).contains(index).doesNotContain("Sort");
+    }
+
+    private static void report(String name, long[] latencies) {
+        Measure.report("search " + name, "p50 %.2f ms, p99 %.2f ms, max %.2f ms (%d requests, page %d, %,d rows)",
+                Measure.percentile(latencies, 50) / 1e6, Measure.percentile(latencies, 99) / 1e6,
+                latencies[latencies.length - 1] / 1e6, latencies.length, PAGE, ROWS);
+    }
+
+    /** Daty rozrzucone po trzech latach niezależnie od id, jak przy imporcie wielu wyciągów; ~9% przychodów. */
+    private void seed() {
+        String categories = String.join("','", CATEGORIES);
+        jdbcTemplate.execute("select setseed(0.42); "
+                + "insert into transaction (id, account, amount, bank, category, category_source, date, title, type) "
+                + "select nextval('transaction_seq'), 'PL' || (g % 5), "
+                + "       case when income then round((500 + random() * 9500)::numeric, 2) "
+                + "            else -round((1 + random() * 600)::numeric, 2) end, "
+                + "       floor(random() * " + Bank.values().length + ")::smallint, "
+                + "       case when income then 'INCOME' "
+                + "            else (array['" + categories + "'])[1 + floor(random() * " + CATEGORIES.size() + ")::int] end, "
+                + "       'RULE', "
+                + "       timestamp '" + FIRST_MONTH.atDay(1) + "' + floor(random() * " + days() + ") * interval '1 day', "
+                + "       'TITLE ' || (g % 5000), "
+                + "       case when income then 'INCOME' else 'EXPENSE' end "
+                + "from (select g, random() < 0.09 as income from generate_series(1, " + ROWS + ") g) s");
+        jdbcTemplate.execute("vacuum analyze transaction");
+    }
+
+    /** Parametry w kolejności, w jakiej {@link TransactionSearchRepositoryImpl} dokleja warunki, plus limit. */
+    private static Object[] parameters(TransactionFilter filter, PageKey after) {
+        List<Object> parameters = new ArrayList<>();
+        if (filter.from() != null) parameters.add(startOf(filter.from()));
+        if (filter.to() != null) parameters.add(startOf(filter.to().plusDays(1)));
+        if (filter.category() != null) parameters.add(filter.category());
+        if (filter.bank() != null) parameters.add((short) filter.bank().ordinal());
+        if (filter.type() != null) parameters.add(filter.type());
+        if (filter.minAmount() != null) parameters.add(filter.minAmount());
+        if (filter.maxAmount() != null) parameters.add(filter.maxAmount());
+        if (after != null) {
+            parameters.add(new Timestamp(after.date().getTime()));
+            parameters.add(after.amount());
+            parameters.add(after.id());
+        }
+        parameters.add(PAGE);
+        return parameters.toArray();
+    }
+
+    private String explain(String sql, Object[] parameters) {
+        assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(parameters.length);
+        return String.join("\n", jdbcTemplate.queryForList("explain (analyze, buffers) " + sql, String.class, parameters));
+    }
+
+    private static TransactionFilter filter(YearMonth month, String category, Bank bank, String type, BigDecimal minAmount) {
+        return new TransactionFilter(month == null ? null : month.atDay(1), month == null ? null : month.atEndOfMonth(),
+                category, bank, type, minAmount, minAmount == null ? null : minAmount.add(BigDecimal.TEN));
+    }
+
+    private static YearMonth month(int request) {
+        return FIRST_MONTH.plusMonths(request % MONTHS);
+    }
+
+    private static String category(int request) {
+        return CATEGORIES.get(request % CATEGORIES.size());
+    }
+
+    private static Bank bank(int request) {
+        return Bank.values()[request % Bank.values().length];
+    }
+
+    private static long days() {
+        return ChronoUnit.DAYS.between(FIRST_MONTH.atDay(1), FIRST_MONTH.plusMonths(MONTHS).atDay(1));
+    }
+
+    private static Timestamp startOf(LocalDate day) {
+        return Timestamp.from(day.atStartOfDay(ZONE).toInstant());
+    }
+
+    /** Ostatni SQL wysłany przez Hibernate – ten sam tekst idzie potem do {@code EXPLAIN}. */
+    static final class LastStatement implements StatementInspector {
+
+        private volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            this.sql = sql;
+            return sql;
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Inspection {
+
+        @Bean
+        LastStatement lastStatement() {
+            return new LastStatement();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(LastStatement lastStatement) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, lastStatement);
+        }
+    }
+}
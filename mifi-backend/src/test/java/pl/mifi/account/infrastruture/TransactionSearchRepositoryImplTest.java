@@ -0,0 +1,103 @@
+package pl.mifi.account.infrastruture;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import pl.mifi.account.domain.Bank;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.domain.TransactionFilter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TransactionSearchRepositoryImplTest {
+
+    @SuppressWarnings("unchecked")
+    private final TypedQuery<Transaction> query = mock(TypedQuery.class, RETURNS_SELF);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final TransactionSearchRepositoryImpl repository = new TransactionSearchRepositoryImpl(entityManager);
+
+    TransactionSearchRepositoryImplTest() {
+        when(entityManager.createQuery(anyString(), eq(Transaction.class))).thenReturn(query);
+    }
+
+    @Test
+    void unfilteredFirstPageHasNoOptionalConditions() {
+        repository.search(TransactionFilter.NONE, null, 50);
+
+        assertThat(hql()).isEqualTo("select t from Transaction t where t.date is not null and t.amount is not null"
+                + " order by t.date desc, t.amount desc, t.id desc");
+        verify(query, never()).setParameter(anyString(), any());
+        verify(query).setMaxResults(50);
+    }
+
+    @Test
+    void onlyGivenCriteriaBecomeConditions() {
+        repository.search(new TransactionFilter(null, null, "groceries", Bank.MBANK, null, null, null), null, 20);
+
+        assertThat(hql())
+                .contains(" and t.category = :category", " and t.bank = :bank")
+                .doesNotContain(":from", ":toExclusive", ":type", ":minAmount", ":maxAmount", ":afterId", "is null or");
+        verify(query).setParameter("category", "GROCERIES");
+        verify(query).setParameter("bank", Bank.MBANK);
+    }
+
+    @Test
+    void dateRangeIsInclusiveAndAmountsAreBounds() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+
+        repository.search(new TransactionFilter(from, to, null, null, "expense",
+                new BigDecimal("-500"), new BigDecimal("-10")), null, 20);
+
+        assertThat(hql()).contains(" and t.date >= :from", " and t.date < :toExclusive", " and t.type = :type",
+                " and t.amount >= :minAmount", " and t.amount <= :maxAmount");
+        verify(query).setParameter("from", startOf(from));
+        verify(query).setParameter("toExclusive", startOf(LocalDate.of(2025, 4, 1)));
+        verify(query).setParameter("type", "EXPENSE");
+        verify(query).setParameter("minAmount", new BigDecimal("-500"));
+        verify(query).setParameter("maxAmount", new BigDecimal("-10"));
+    }
+
+    @Test
+    void nextPageContinuesAfterTheKeyTuple() {
+        Date date = new Date(1_735_689_600_000L);
+
+        repository.search(TransactionFilter.NONE, new TransactionSearchRepository.PageKey(date, new BigDecimal("-1.00"), 7L), 20);
+
+        assertThat(hql()).contains(" and (t.date, t.amount, t.id) < (:afterDate, :afterAmount, :afterId)"
+                + " order by t.date desc, t.amount desc, t.id desc");
+        verify(query).setParameter("afterDate", date);
+        verify(query).setParameter("afterAmount", new BigDecimal("-1.00"));
+        verify(query).setParameter("afterId", 7L);
+    }
+
+    @Test
+    void streamUsesServerSideCursorWithoutPageLimit() {
+        repository.stream(new TransactionFilter(null, null, null, Bank.MBANK, null, null, null), 500);
+
+        assertThat(hql()).contains(" and t.bank = :bank").doesNotContain(":afterId");
+        verify(query).setHint(HibernateHints.HINT_FETCH_SIZE, 500);
+        verify(query).setHint(HibernateHints.HINT_READ_ONLY, true);
+        verify(query, never()).setMaxResults(anyInt());
+    }
+
+    private String hql() {
+        ArgumentCaptor<String> hql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createQuery(hql.capture(), eq(Transaction.class));
+        return hql.getValue();
+    }
+
+    private static Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
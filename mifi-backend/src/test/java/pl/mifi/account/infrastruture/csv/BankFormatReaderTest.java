@@ -0,0 +1,166 @@
+package pl.mifi.account.infrastruture.csv;
+
+import org.junit.jupiter.api.Test;
+import pl.mifi.account.domain.Bank;
+import pl.mifi.account.domain.Transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BankFormatReaderTest {
+
+    /** Wstęp przed nagłówkiem, NBSP w kwocie, data ISO i kropkowa – jak w prawdziwym eksporcie mBanku. */
+    private static final String MBANK = """
+            mBank S.A. Bankowość Detaliczna;
+            #Klient;
+            JAN KOWALSKI;
+
+            #Data operacji;#Data księgowania;#Opis operacji;#Tytuł;#Nadawca/Odbiorca;#Numer konta;#Kwota;#Saldo po operacji;
+            02.01.2025;03.01.2025;ZAKUP PRZY UŻYCIU KARTY;ŻABKA Z1234 POZNAN DATA TRANSAKCJI: 2025-01-02;;;-1\u00A0234,56;100,00;
+            2025-01-04;;PRZELEW PRZYCHODZĄCY;PRZELEW ŚRODKÓW;ACME SP Z O O;'12 1140 2004';5000,00;5100,00;
+            05.01.2025;05.01.2025;ZAKUP;SKLEP;;;#ERR;0,00;
+            31.02.2025;;ZAKUP;SKLEP;;;-1,00;0,00;
+            ;;;;;;;5100,00;
+            """;
+
+    @Test
+    void decodesMBankRowsByResolvedColumns() throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        List<ParseIssue> issues = new ArrayList<>();
+
+        read(BankFormats.MBANK, MBANK, transactions, issues);
+
+        assertThat(transactions).hasSize(2);
+        Transaction card = transactions.get(0);
+        assertThat(card.getBank()).isEqualTo(Bank.MBANK);
+        assertThat(card.getAmount()).isEqualByComparingTo(new BigDecimal("-1234.56"));
+        assertThat(card.getType()).isEqualTo("EXPENSE");
+        assertThat(card.getTitle()).startsWith("ŻABKA Z1234");
+        // data księgowania ma pierwszeństwo przed datą operacji
+        assertThat(card.getDate()).isEqualTo(CsvDecoders.toDate(LocalDate.of(2025, 1, 3)));
+        assertThat(card.getDescription()).isEqualTo("ZAKUP PRZY UŻYCIU KARTY | DATA TRANSAKCJI: 2025-01-02");
+        assertThat(card.getAccount()).isNull();
+
+        Transaction transfer = transactions.get(1);
+        assertThat(transfer.getType()).isEqualTo("INCOME");
+        assertThat(transfer.getDate()).isEqualTo(CsvDecoders.toDate(LocalDate.of(2025, 1, 4)));
+        assertThat(transfer.getDescription()).isEqualTo("PRZELEW PRZYCHODZĄCY | ACME SP Z O O");
+
+        assertThat(issues).extracting(ParseIssue::column, ParseIssue::value, ParseIssue::reason)
+                .containsExactly(
+                        tuple("#Kwota", "#ERR", "invalid amount"),
+                        tuple("#Data operacji", "31.02.2025", "invalid date"));
+    }
+
+    /** Nagłówek w pierwszej linii z pustymi kolumnami na końcu, rachunki i referencje w apostrofach. */
+    private static final String PKO_SA = """
+            Data operacji;Data księgowania;Data waluty;Typ operacji;Kwota operacji;Waluta;Nadawca / Odbiorca;Tytułem;Numer referencyjny;Rachunek źródłowy;Rachunek docelowy;;
+            14.09.2025;15.09.2025;15.09.2025;Płatność kartą;-45,99;PLN;BIEDRONKA 3021;Zakup;'C0FFEE42';'61 1090 1014 0000 0712 1981 2874';'';
+            16.09.2025;;16.09.2025;Przelew przychodzący;1\u00A0500,00;PLN;;Zwrot za bilety;'R77';'';'61 1090 1014 0000 0712 1981 2874';
+            """;
+
+    /**
+     * iPKO: wszystko w cudzysłowach, kwota ze znakiem, szczegóły operacji w kolumnach bez nazwy
+     * jako "Etykieta: wartość" – tytułem jest pierwsza znaleziona etykieta według {@code titleLabels}.
+     */
+    private static final String PKO_BP = """
+            "Data operacji","Data waluty","Typ transakcji","Kwota","Waluta","Saldo po transakcji","Opis transakcji","","",""
+            "2025-09-15","2025-09-16","Płatność kartą","-45.99","PLN","+1234.56","Tytuł: 000498849 74230785","Lokalizacja: Adres: ŻABKA Z1234 Miasto: POZNAN","Data wykonania operacji: 2025-09-14",""
+            "2025-09-17","2025-09-17","Przelew na rachunek","+1500.00","PLN","+2734.56","Rachunek nadawcy: 12 1140 2004","Nazwa nadawcy: ACME SP Z O O","Tytuł: WYNAGRODZENIE, WRZESIEŃ",""
+            """;
+
+    /** Bez nagłówka (pierwsza linia to podsumowanie rachunku), data dd-MM-yyyy, kwota z przecinkiem w cudzysłowach. */
+    private static final String SANTANDER = """
+            2025-09-30,'61 1090 1014 0000 0712 1981 2874',KONTO JAKIE CHCĘ,PLN,"1234,56","2734,56",2
+            15-09-2025,14-09-2025,"ZAKUP, KARTA 1234","LIDL SP Z O O",'61 1090 1014 0000 0712 1981 2874',"-1 045,20","1234,56",41
+            16-09-2025,,"CZYNSZ WRZESIEŃ","",'61 1090 1014 0000 0712 1981 2874',"-800,00","434,56",42
+            """;
+
+    @Test
+    void decodesPkoSaRowsByHeaderInFirstLine() throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        List<ParseIssue> issues = new ArrayList<>();
+
+        read(BankFormats.PKO_SA, PKO_SA, transactions, issues);
+
+        assertThat(issues).isEmpty();
+        assertThat(transactions).extracting(Transaction::getBank, Transaction::getDate, Transaction::getAmount,
+                        Transaction::getTitle)
+                .containsExactly(
+                        tuple(Bank.PKO_SA, CsvDecoders.toDate(LocalDate.of(2025, 9, 15)), new BigDecimal("-45.99"), "BIEDRONKA 3021"),
+                        // bez daty księgowania – data waluty; bez kontrahenta – tytuł operacji
+                        tuple(Bank.PKO_SA, CsvDecoders.toDate(LocalDate.of(2025, 9, 16)), new BigDecimal("1500.00"), "Zwrot za bilety"));
+        Transaction card = transactions.get(0);
+        assertThat(card.getAccount()).isEqualTo("61 1090 1014 0000 0712 1981 2874");
+        assertThat(card.getDescription()).isEqualTo("Tytułem: Zakup | Ref: C0FFEE42 | Płatność kartą PLN");
+        assertThat(transactions.get(1).getAccount()).isEqualTo("61 1090 1014 0000 0712 1981 2874");
+    }
+
+    @Test
+    void decodesPkoBpTitleFromLabeledUnnamedColumns() throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        List<ParseIssue> issues = new ArrayList<>();
+
+        read(BankFormats.PKO_BP, PKO_BP, transactions, issues);
+
+        assertThat(issues).isEmpty();
+        assertThat(transactions).extracting(Transaction::getBank, Transaction::getDate, Transaction::getAmount,
+                        Transaction::getTitle)
+                .containsExactly(
+                        tuple(Bank.PKO_BP, CsvDecoders.toDate(LocalDate.of(2025, 9, 15)), new BigDecimal("-45.99"),
+                                "ŻABKA Z1234 Miasto: POZNAN"),
+                        // "Nazwa nadawcy" wyprzedza "Tytuł" na liście etykiet
+                        tuple(Bank.PKO_BP, CsvDecoders.toDate(LocalDate.of(2025, 9, 17)), new BigDecimal("1500.00"),
+                                "ACME SP Z O O"));
+        assertThat(transactions.get(0).getType()).isEqualTo("EXPENSE");
+        assertThat(transactions.get(0).getDescription()).isEqualTo("Płatność kartą PLN"
+                + " | Lokalizacja: Adres: ŻABKA Z1234 Miasto: POZNAN | Data wykonania operacji: 2025-09-14");
+        assertThat(transactions.get(1).getType()).isEqualTo("INCOME");
+        assertThat(transactions.get(1).getDescription()).isEqualTo("Przelew na rachunek PLN"
+                + " | Nazwa nadawcy: ACME SP Z O O | Tytuł: WYNAGRODZENIE, WRZESIEŃ");
+    }
+
+    @Test
+    void decodesHeaderlessSantanderRowsByPosition() throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        List<ParseIssue> issues = new ArrayList<>();
+
+        read(BankFormats.SANTANDER, SANTANDER, transactions, issues);
+
+        assertThat(issues).isEmpty();
+        assertThat(transactions).extracting(Transaction::getBank, Transaction::getDate, Transaction::getAmount,
+                        Transaction::getTitle)
+                .containsExactly(
+                        tuple(Bank.SANTANDER, CsvDecoders.toDate(LocalDate.of(2025, 9, 14)), new BigDecimal("-1045.20"),
+                                "LIDL SP Z O O"),
+                        // bez daty księgowania – data operacji; bez kontrahenta – tytuł
+                        tuple(Bank.SANTANDER, CsvDecoders.toDate(LocalDate.of(2025, 9, 16)), new BigDecimal("-800.00"),
+                                "CZYNSZ WRZESIEŃ"));
+        Transaction card = transactions.get(0);
+        assertThat(card.getAccount()).isEqualTo("61 1090 1014 0000 0712 1981 2874");
+        assertThat(card.getDescription()).isEqualTo("Tytułem: ZAKUP, KARTA 1234 | Ref: 41");
+    }
+
+    @Test
+    void fileWithoutHeaderYieldsNothing() throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+
+        read(BankFormats.MBANK, "mBank S.A.;\n#Klient;\n", transactions, new ArrayList<>());
+
+        assertThat(transactions).isEmpty();
+    }
+
+    private static void read(BankFormat format, String content, List<Transaction> sink, List<ParseIssue> issues)
+            throws IOException {
+        new BankFormatReader(format).read(
+                Channels.newChannel(new ByteArrayInputStream(content.getBytes(format.charset()))), sink::add, issues::add);
+    }
+}
@@ -0,0 +1,52 @@
+package pl.mifi.account.infrastruture.csv;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvColumnPlanTest {
+
+    @Test
+    void resolvesNamesWithoutBomAndSurroundingWhitespace() {
+        CsvColumnPlan plan = CsvColumnPlan.of(new String[]{"\uFEFF#Data operacji", "  #Tytuł ", "#Kwota"});
+
+        assertThat(plan.index("#Data operacji")).isZero();
+        assertThat(plan.index("#Tytuł")).isEqualTo(1);
+        assertThat(plan.index("#Kwota")).isEqualTo(2);
+    }
+
+    @Test
+    void missingAndBlankColumnsAreNotResolved() {
+        CsvColumnPlan plan = CsvColumnPlan.of(new String[]{"#Kwota", "", null, "  "});
+
+        assertThat(plan.index("#Saldo")).isEqualTo(CsvColumnPlan.MISSING);
+        assertThat(plan.index("")).isEqualTo(CsvColumnPlan.MISSING);
+    }
+
+    @Test
+    void duplicateNameResolvesToFirstColumn() {
+        CsvColumnPlan plan = CsvColumnPlan.of(new String[]{"Kwota", "Waluta", "Kwota"});
+
+        assertThat(plan.index("Kwota")).isZero();
+    }
+
+    @Test
+    void valuesAreTrimmedAndOutOfRangeIsEmpty() throws IOException {
+        CSVRecord record = record(" 12,50 ;PLN");
+
+        assertThat(CsvColumnPlan.get(record, 0)).isEqualTo("12,50");
+        assertThat(CsvColumnPlan.get(record, 1)).isEqualTo("PLN");
+        // krótszy wiersz i brakująca kolumna
+        assertThat(CsvColumnPlan.get(record, 5)).isEmpty();
+        assertThat(CsvColumnPlan.get(record, CsvColumnPlan.MISSING)).isEmpty();
+    }
+
+    private static CSVRecord record(String line) throws IOException {
+        return CSVFormat.newFormat(';').parse(new StringReader(line)).getRecords().get(0);
+    }
+}
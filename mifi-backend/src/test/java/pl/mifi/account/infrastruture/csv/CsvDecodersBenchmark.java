@@ -0,0 +1,108 @@
+package pl.mifi.account.infrastruture.csv;
+
+import pl.mifi.benchmark.Benchmark;
+import pl.mifi.benchmark.Measure;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dekodowanie kwot i dat: dawne {@code parseAmount}/{@code parseLocalDate} z czytników
+ * (łańcuch replace'ów, regex dwa razy, formatery z wyjątkami) kontra {@link CsvDecoders}.
+ */
+class CsvDecodersBenchmark {
+
+    private static final int VALUES = 4096;
+
+    private final String[] amounts = new String[VALUES];
+    private final String[] dates = new String[VALUES];
+
+    CsvDecodersBenchmark() {
+        SplittableRandom random = new SplittableRandom(42);
+        DateTimeFormatter dots = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+        for (int i = 0; i < VALUES; i++) {
+            long grosze = random.nextLong(-2_000_000, 2_000_000);
+            String whole = String.format(Locale.ROOT, "%,d", Math.abs(grosze) / 100).replace(',', random.nextBoolean() ? ' ' : '\u00A0');
+            amounts[i] = (grosze < 0 ? "-" : "") + whole + "," + String.format("%02d", Math.abs(grosze) % 100);
+            LocalDate date = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+            dates[i] = random.nextInt(4) == 0 ? date.toString() : date.format(dots);
+        }
+    }
+
+    @Benchmark
+    void amountsSinglePassVersusReplaceAndRegex() {
+        for (String raw : amounts) {
+            assertThat(CsvDecoders.amount(raw)).isEqualByComparingTo(Legacy.parseAmount(raw));
+        }
+        int[] i = {0};
+        double legacy = Measure.nanosPerOp(200_000, () -> Legacy.parseAmount(amounts[i[0]++ & (VALUES - 1)]));
+        double decoder = Measure.nanosPerOp(200_000, () -> CsvDecoders.amount(amounts[i[0]++ & (VALUES - 1)]));
+        Measure.report("amount decode", "replace/regex %.0f ns/op, single pass %.0f ns/op (%.1fx)",
+                legacy, decoder, legacy / decoder);
+    }
+
+    @Benchmark
+    void datesSinglePassVersusFormatters() {
+        for (String raw : dates) {
+            assertThat(CsvDecoders.toDate(CsvDecoders.localDate(raw))).isEqualTo(Legacy.pickDate(raw));
+        }
+        int[] i = {0};
+        double legacy = Measure.nanosPerOp(200_000, () -> Legacy.pickDate(dates[i[0]++ & (VALUES - 1)]));
+        double decoder = Measure.nanosPerOp(200_000,
+                () -> CsvDecoders.toDate(CsvDecoders.localDate(dates[i[0]++ & (VALUES - 1)])));
+        Measure.report("date decode", "formatters %.0f ns/op, single pass %.0f ns/op (%.1fx)",
+                legacy, decoder, legacy / decoder);
+    }
+
+    /** Kod sprzed zmiany (MBankTransactionReader), bez wypisywania na stderr. */
+    private static final class Legacy {
+
+        private static final DateTimeFormatter DATE_DOTS = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+        private static final DateTimeFormatter DATE_ISO = DateTimeFormatter.ISO_LOCAL_DATE;
+
+        static BigDecimal parseAmount(String raw) {
+            String normalized = raw.replace('\u00A0', ' ').trim()
+                    .replace("'", "")
+                    .replace("\u00A0", " ")
+                    .replace(" ", "")
+                    .replace(",", ".")
+                    .trim();
+            if (!normalized.matches("-?\\d+(\\.\\d+)?")) {
+                // tu dawny kod wypisywał komunikat na stderr – regex liczony był dwa razy
+            }
+            if (!normalized.matches("-?\\d+(\\.\\d+)?")) {
+                return BigDecimal.ZERO;
+            }
+            return new BigDecimal(normalized);
+        }
+
+        static Date pickDate(String s) {
+            LocalDate ld = parseLocalDate(s.trim());
+            return Date.from(ld.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        }
+
+        private static LocalDate parseLocalDate(String s) {
+            try {
+                if (s.indexOf('-') >= 0) return LocalDate.parse(s, DATE_ISO);
+                return LocalDate.parse(s, DATE_DOTS);
+            } catch (DateTimeParseException e) {
+                for (DateTimeFormatter f : List.of(DATE_DOTS, DATE_ISO)) {
+                    try {
+                        return LocalDate.parse(s, f);
+                    } catch (Exception ignore) {
+                    }
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package pl.mifi.account.infrastruture.csv;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvDecodersTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "-1 234,56      | -1234.56",
+            "-1\u00A0234,56 | -1234.56",
+            "1'234'567,89   | 1234567.89",
+            "+1500.00       | 1500.00",
+            "1500           | 1500",
+            "0,5            | 0.5",
+            "-0,01          | -0.01",
+            "'  12,30 '     | 12.30",
+            // 18 cyfr mieści się w long bez przepełnienia
+            "9999999999999999,99 | 9999999999999999.99",
+    })
+    void decodesPolishAmounts(String raw, String expected) {
+        BigDecimal amount = CsvDecoders.amount(raw);
+
+        assertThat(amount).isEqualTo(new BigDecimal(expected)); // ze skalą, jak w wyciągu
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {
+            "", "   ", "-", "+", ",50", "12,", "1,2,3", "--5", "5-", "1+2", "#ERR", "12 zł", "1e5",
+            // 19 cyfr przepełniłoby long
+            "10000000000000000,00", "9999999999999999999",
+    })
+    void rejectsInvalidAmounts(String raw) {
+        assertThat(CsvDecoders.amount(raw)).isNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "03.01.2025, 2025-01-03",
+            "03-01-2025, 2025-01-03",
+            "2025-01-03, 2025-01-03",
+            "' 29.02.2024 ', 2024-02-29",
+            "31.12.1999, 1999-12-31",
+    })
+    void decodesDates(String raw, LocalDate expected) {
+        assertThat(CsvDecoders.localDate(raw)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {
+            "", "3.01.2025", "03.01.25", "03/01/2025", "03.01-2025", "2025.01.03", "2025-1-03x",
+            "00.01.2025", "32.01.2025", "01.13.2025", "29.02.2025", "31.04.2025", "2025-02-30", "ab.cd.efgh",
+    })
+    void rejectsInvalidDates(String raw) {
+        assertThat(CsvDecoders.localDate(raw)).isNull();
+    }
+}
@@ -0,0 +1,124 @@
+package pl.mifi.account.infrastruture.csv;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.io.TempDir;
+import pl.mifi.account.domain.Transaction;
+import pl.mifi.account.infrastruture.TitleCategoryClassifier;
+import pl.mifi.benchmark.Benchmark;
+import pl.mifi.benchmark.Measure;
+import pl.mifi.loadtest.SyntheticStatementGenerator;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parsowanie syntetycznego wyciągu mBank: dawny czytnik (cały plik w pamięci, {@code toMap()} i regex
+ * na każde pole) kontra {@link BankFormatReader} z kolumnami rozwiązanymi raz na plik.
+ */
+class MBankParsingBenchmark {
+
+    private static final int ROWS = 50_000;
+
+    @TempDir
+    Path dir;
+
+    @Benchmark
+    void columnPlanVersusPerFieldMapLookup() throws IOException {
+        Path file = SyntheticStatementGenerator.writeMBank(dir, ROWS, 42);
+        BankFormatReader reader = new BankFormatReader(BankFormats.MBANK);
+
+        // dawny czytnik brał wiersz salda końcowego jako transakcję na 0 zł – teraz to ParseIssue
+        assertThat(readNew(reader, file)).isEqualTo(LegacyMBankReader.parse(file) - 1);
+
+        double legacy = Measure.nanosPerOp(1, () -> LegacyMBankReader.parse(file)) / ROWS;
+        double plan = Measure.nanosPerOp(1, () -> readNew(reader, file)) / ROWS;
+        Measure.report("mbank parse", "toMap/regex %.0f ns/row, column plan %.0f ns/row (%.1fx)",
+                legacy, plan, legacy / plan);
+    }
+
+    private static int readNew(BankFormatReader reader, Path file) {
+        int[] count = {0};
+        try (FileChannel channel = FileChannel.open(file)) {
+            reader.read(channel, t -> count[0]++);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count[0];
+    }
+
+    /** Ścieżka sprzed zmiany (MBankTransactionReader), okrojona do samego parsowania. */
+    private static final class LegacyMBankReader {
+
+        private static final DateTimeFormatter DATE_DOTS = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+        private static final String[] COLUMNS = {"#Data księgowania", "#Data operacji", "#Opis operacji", "#Tytuł",
+                "#Nadawca/Odbiorca", "#Numer konta", "#Kwota"};
+
+        static int parse(Path file) {
+            try {
+                List<String> lines = Files.readAllLines(file, Charset.forName("windows-1250"));
+                int headerIdx = 0;
+                while (!lines.get(headerIdx).contains("#Data operacji")) headerIdx++;
+                String tail = String.join("\n", lines.subList(headerIdx, lines.size()));
+
+                CSVFormat fmt = CSVFormat.newFormat(';').builder()
+                        .setHeader().setSkipHeaderRecord(true).setTrim(true).setAllowMissingColumnNames(true)
+                        .get();
+                int count = 0;
+                try (CSVParser parser = CSVParser.parse(new StringReader(tail), fmt)) {
+                    for (CSVRecord rec : parser) {
+                        String[] v = new String[COLUMNS.length];
+                        for (int i = 0; i < COLUMNS.length; i++) v[i] = getLoose(rec, COLUMNS[i]);
+                        if (v[6].isBlank() && v[3].isBlank() && v[2].isBlank()) continue;
+
+                        BigDecimal amount = parseAmount(v[6]);
+                        String chosen = v[0].isBlank() ? v[1] : v[0];
+                        LocalDate ld = chosen.isBlank() ? LocalDate.now()
+                                : chosen.indexOf('-') >= 0 ? LocalDate.parse(chosen) : LocalDate.parse(chosen, DATE_DOTS);
+
+                        Transaction t = new Transaction();
+                        t.setTitle(v[3].replace('\u00A0', ' ').trim());
+                        t.setAmount(amount);
+                        t.setCategory(TitleCategoryClassifier.classify(v[3]).name());
+                        t.setDate(Date.from(ld.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+                        count++;
+                    }
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static BigDecimal parseAmount(String raw) {
+            String normalized = raw.replace('\u00A0', ' ').trim()
+                    .replace("'", "").replace("\u00A0", " ").replace(" ", "").replace(",", ".").trim();
+            if (!normalized.matches("-?\\d+(\\.\\d+)?")) return BigDecimal.ZERO;
+            return new BigDecimal(normalized);
+        }
+
+        private static String getLoose(CSVRecord r, String expectedKey) {
+            for (Map.Entry<String, String> e : r.toMap().entrySet()) {
+                String k = e.getKey() == null ? "" : e.getKey().trim();
+                if (!k.isEmpty() && k.charAt(0) == '\uFEFF') k = k.substring(1);
+                if (k.equals(expectedKey)) return e.getValue() == null ? "" : e.getValue().trim();
+            }
+            return "";
+        }
+    }
+}
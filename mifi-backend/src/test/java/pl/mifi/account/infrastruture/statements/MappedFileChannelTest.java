@@ -0,0 +1,47 @@
+package pl.mifi.account.infrastruture.statements;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedFileChannelTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsWholeFile() throws Exception {
+        Path file = Files.writeString(dir.resolve("a.csv"), "#Data operacji;#Kwota;\r\n");
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        try (MappedFileChannel channel = MappedFileChannel.open(file)) {
+            while (channel.read(buffer) >= 0) {
+                // do końca pliku
+            }
+        }
+
+        assertThat(new String(buffer.array(), 0, buffer.position())).isEqualTo("#Data operacji;#Kwota;\r\n");
+    }
+
+    @Test
+    void interruptedReadClosesTheChannel() throws Exception {
+        Path file = Files.writeString(dir.resolve("a.csv"), "x");
+        MappedFileChannel channel = MappedFileChannel.open(file);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> channel.read(ByteBuffer.allocate(8))).isInstanceOf(ClosedByInterruptException.class);
+            assertThat(channel.isOpen()).isFalse();
+        } finally {
+            // flaga przerwania zostaje, jak przy InterruptibleChannel – nie może przejść do kolejnych testów
+            assertThat(Thread.interrupted()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package pl.mifi.account.infrastruture.statements;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.mifi.account.application.transaction.ImportStatementCommand;
+import pl.mifi.account.infrastruture.csv.BankFormatRegistry;
+import pl.mifi.cqrs.Command;
+import pl.mifi.cqrs.Mediator;
+import pl.mifi.cqrs.Query;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementDirectoryWatcherTest {
+
+    private static final long SETTLE_MILLIS = 300;
+
+    @TempDir
+    Path dir;
+
+    private StatementDirectoryWatcher watcher;
+
+    @AfterEach
+    void stopWatcher() {
+        if (watcher != null && watcher.isRunning()) watcher.stop();
+    }
+
+    @Test
+    void fileStillBeingWrittenIsImportedOnceAfterItSettles() throws Exception {
+        RecordingMediator mediator = new RecordingMediator(file -> { });
+        watcher = start(mediator);
+        Path file = dir.resolve("82004086_250101_251231.csv");
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < 5; i++) {
+                out.write("#Data operacji;#Kwota;\r\n".getBytes());
+                out.flush();
+                Thread.sleep(SETTLE_MILLIS / 3);
+            }
+        }
+        // zapis trwał dłużej niż okres ciszy, ale plik ciągle rósł – jeszcze bez importu
+        assertThat(mediator.imported).isEmpty();
+
+        awaitImports(mediator, 1);
+        Thread.sleep(SETTLE_MILLIS * 2);
+        assertThat(mediator.imported).containsExactly(file);
+    }
+
+    @Test
+    void errorWhileImportingOneFileDoesNotStopTheWatcher() throws Exception {
+        Path broken = Files.writeString(dir.resolve("a.csv"), "x");
+        RecordingMediator mediator = new RecordingMediator(file -> {
+            if (file.equals(broken)) throw new InternalError("a fault occurred in an unsafe memory access");
+        });
+        watcher = start(mediator);
+
+        awaitImports(mediator, 1);
+        Path next = Files.writeString(dir.resolve("b.csv"), "y");
+
+        awaitImports(mediator, 2);
+        assertThat(mediator.imported).containsExactly(broken, next);
+    }
+
+    @Test
+    void banksAreImportedConcurrentlyAndFilesOfOneBankInOrder() throws Exception {
+        Path mbankJanuary = Files.writeString(dir.resolve("82004086_250101_250131.csv"), "x");
+        Path mbankFebruary = Files.writeString(dir.resolve("82004086_250201_250228.csv"), "x");
+        Path pko = Files.writeString(dir.resolve("Lista_operacji_20250228_120000.csv"), "x");
+        CountDownLatch pkoStarted = new CountDownLatch(1);
+        RecordingMediator mediator = new RecordingMediator(file -> {
+            if (file.equals(pko)) {
+                pkoStarted.countDown();
+            } else if (file.equals(mbankJanuary)) {
+                // przy imporcie po kolei PKO czekałby na mBank – tu musi ruszyć w tym samym czasie
+                await(pkoStarted);
+            }
+        });
+        watcher = start(mediator);
+
+        awaitImports(mediator, 3);
+        assertThat(mediator.imported).containsSubsequence(mbankJanuary, mbankFebruary);
+        assertThat(mediator.imported.indexOf(pko)).isLessThan(mediator.imported.indexOf(mbankFebruary));
+    }
+
+    @Test
+    void importPastTheTimeoutIsCancelledAndNotRetried() throws Exception {
+        Path stuck = Files.writeString(dir.resolve("82004086_250101_250131.csv"), "x");
+        Path pko = Files.writeString(dir.resolve("Lista_operacji_20250228_120000.csv"), "x");
+        CountDownLatch cancelled = new CountDownLatch(1);
+        RecordingMediator mediator = new RecordingMediator(file -> {
+            if (!file.equals(stuck)) return;
+            try {
+                Thread.sleep(Duration.ofSeconds(30));
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        watcher = start(mediator, Duration.ofMillis(500));
+
+        awaitImports(mediator, 2);
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // obserwator nie utknął na zawieszonym imporcie
+        Path next = Files.writeString(dir.resolve("Lista_operacji_20250331_120000.csv"), "x");
+        awaitImports(mediator, 3);
+        Thread.sleep(SETTLE_MILLIS * 2);
+        assertThat(mediator.imported).containsExactlyInAnyOrder(stuck, pko, next);
+    }
+
+    private StatementDirectoryWatcher start(Mediator mediator) throws IOException {
+        return start(mediator, Duration.ofSeconds(30));
+    }
+
+    private StatementDirectoryWatcher start(Mediator mediator, Duration importTimeout) throws IOException {
+        StatementDirectoryWatcher w = new StatementDirectoryWatcher(
+                new StatementCatalog(dir, new BankFormatRegistry()), mediator, SETTLE_MILLIS, 2, importTimeout);
+        w.start();
+        return w;
+    }
+
+    private static void awaitImports(RecordingMediator mediator, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (mediator.imported.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(mediator.imported).hasSizeGreaterThanOrEqualTo(count);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("timed out");
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Zapamiętuje importowane pliki i dla każdego woła {@code onImport}. */
+    private record RecordingMediator(Consumer<Path> onImport, List<Path> imported) implements Mediator {
+
+        RecordingMediator(Consumer<Path> onImport) {
+            this(onImport, new CopyOnWriteArrayList<>());
+        }
+
+        @Override
+        public <C extends Command> void send(C command) {
+            Path file = ((ImportStatementCommand) command).file();
+            imported.add(file);
+            onImport.accept(file);
+        }
+
+        @Override
+        public <R, Q extends Query> R get(Q query) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <C extends Command> void sendAll(Collection<C> commands) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <C extends Command> CompletableFuture<Void> sendAsync(C command) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <R, Q extends Query> CompletableFuture<R> getAsync(Q query) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package pl.mifi.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pomiar zamiast asercji – domyślnie pomijany, bo czasy zależą od maszyny.
+ * Uruchomienie: {@code mvn test -Dmifi.benchmarks=true -Dtest='*Benchmark'}
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Test
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "mifi.benchmarks", matches = "true")
+public @interface Benchmark {
+}
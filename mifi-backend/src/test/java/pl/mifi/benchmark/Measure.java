@@ -0,0 +1,65 @@
+package pl.mifi.benchmark;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Minimalna pętla pomiarowa: rozgrzewka, potem kilka serii i mediana ns/operację.
+ * Wynik każdej operacji trafia do {@link #sink}, żeby JIT nie wyciął pracy.
+ */
+public final class Measure {
+
+    private static final int ROUNDS = 5;
+
+    private static volatile int sink;
+
+    private Measure() {
+    }
+
+    public static double nanosPerOp(int operations, Supplier<?> operation) {
+        run(operations, operation); // rozgrzewka
+        double[] rounds = new double[ROUNDS];
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            run(operations, operation);
+            rounds[r] = (System.nanoTime() - start) / (double) operations;
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+
+    /** Czas każdej z {@code operations} operacji (ns) po {@code warmup} rozgrzewkowych, posortowany rosnąco. */
+    public static long[] latencies(int warmup, int operations, Supplier<?> operation) {
+        run(warmup, operation);
+        long[] latencies = new long[operations];
+        int h = 0;
+        for (int i = 0; i < operations; i++) {
+            long start = System.nanoTime();
+            Object result = operation.get();
+            latencies[i] = System.nanoTime() - start;
+            h += result == null ? 0 : System.identityHashCode(result);
+        }
+        sink = h;
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    /** Percentyl metodą najbliższej rangi z czasów posortowanych rosnąco. */
+    public static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(sorted.length * p / 100.0);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    public static void report(String name, String format, Object... args) {
+        System.out.printf("[benchmark] " + name + ": " + format + "%n", args);
+    }
+
+    private static void run(int operations, Supplier<?> operation) {
+        int h = 0;
+        for (int i = 0; i < operations; i++) {
+            Object result = operation.get();
+            h += result == null ? 0 : System.identityHashCode(result);
+        }
+        sink = h;
+    }
+}
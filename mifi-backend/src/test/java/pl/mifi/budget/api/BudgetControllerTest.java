@@ -0,0 +1,74 @@
+package pl.mifi.budget.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import pl.mifi.budget.application.GetByMonthQuery;
+import pl.mifi.budget.application.NoBudgetForMonthException;
+import pl.mifi.budget.domain.Category;
+import pl.mifi.cqrs.Command;
+import pl.mifi.cqrs.Mediator;
+import pl.mifi.cqrs.Query;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BudgetControllerTest {
+
+    @Test
+    void overviewWithoutBudgetForMonthIsEmpty() {
+        BudgetController controller = new BudgetController(
+                new StubMediator(CompletableFuture.failedFuture(new NoBudgetForMonthException(YearMonth.of(2025, 3)))));
+
+        ResponseEntity<BudgetController.BudgetOverview> response = controller.getMonthlyOverview("2025-03").join();
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody().budget()).isNull();
+        assertThat(response.getBody().categories()).isEmpty();
+    }
+
+    @Test
+    void overviewPropagatesOtherFailures() {
+        IllegalStateException failure = new IllegalStateException("connection refused");
+        BudgetController controller = new BudgetController(new StubMediator(CompletableFuture.failedFuture(failure)));
+
+        assertThatThrownBy(() -> controller.getMonthlyOverview("2025-03").join())
+                .hasCause(failure);
+    }
+
+    /** GetByMonthQuery zwraca podany future, każde inne zapytanie – pustą listę. */
+    private record StubMediator(CompletableFuture<Object> budget) implements Mediator {
+
+        @Override
+        public <C extends Command> void send(C command) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R, Q extends Query> R get(Q query) {
+            return (R) List.<Category>of();
+        }
+
+        @Override
+        public <C extends Command> void sendAll(Collection<C> commands) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <C extends Command> CompletableFuture<Void> sendAsync(C command) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R, Q extends Query> CompletableFuture<R> getAsync(Q query) {
+            if (query instanceof GetByMonthQuery) return (CompletableFuture<R>) budget;
+            return CompletableFuture.completedFuture(get(query));
+        }
+    }
+}
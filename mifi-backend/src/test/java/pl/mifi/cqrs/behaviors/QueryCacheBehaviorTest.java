@@ -0,0 +1,108 @@
+package pl.mifi.cqrs.behaviors;
+
+import fixtures.messages.ChangePriceCommand;
+import fixtures.messages.PriceQuery;
+import fixtures.messages.UncachedQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.mifi.cqrs.PipelineNext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCacheBehaviorTest {
+
+    private final QueryCacheBehavior behavior = new QueryCacheBehavior();
+    private final AtomicInteger executions = new AtomicInteger();
+    private final PipelineNext handler = message -> ((PriceQuery) message).sku() + "#" + executions.incrementAndGet();
+
+    @Test
+    void appliesOnlyToCachedQueriesAndInvalidatingCommands() {
+        assertThat(behavior.appliesTo(PriceQuery.class)).isTrue();
+        assertThat(behavior.appliesTo(ChangePriceCommand.class)).isTrue();
+        assertThat(behavior.appliesTo(UncachedQuery.class)).isFalse();
+    }
+
+    @Test
+    void equalQueriesAreServedFromCache() {
+        Object first = get(new PriceQuery("A"));
+        Object second = get(new PriceQuery("A"));
+        Object other = get(new PriceQuery("B"));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isEqualTo("B#2");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void invalidatingCommandClearsCacheAfterItsHandlerSucceeds() {
+        get(new PriceQuery("A"));
+        behavior.handle(ChangePriceCommand.class, new ChangePriceCommand(), message -> null);
+
+        assertThat(get(new PriceQuery("A"))).isEqualTo("A#2");
+    }
+
+    @Test
+    void failedCommandKeepsCache() {
+        get(new PriceQuery("A"));
+        try {
+            behavior.handle(ChangePriceCommand.class, new ChangePriceCommand(), message -> {
+                throw new IllegalStateException("rollback");
+            });
+        } catch (IllegalStateException expected) {
+            // komenda nie przeszła – nic się nie zmieniło
+        }
+
+        assertThat(get(new PriceQuery("A"))).isEqualTo("A#1");
+    }
+
+    @Test
+    void commandInsideOuterTransactionInvalidatesOnlyAfterCommit() {
+        get(new PriceQuery("A"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            behavior.handle(ChangePriceCommand.class, new ChangePriceCommand(), message -> null);
+            // przed commitem cache trzyma stan widoczny dla innych transakcji
+            assertThat(get(new PriceQuery("A"))).isEqualTo("A#1");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(get(new PriceQuery("A"))).isEqualTo("A#2");
+    }
+
+    @Test
+    void rolledBackOuterTransactionKeepsCache() {
+        get(new PriceQuery("A"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            behavior.handle(ChangePriceCommand.class, new ChangePriceCommand(), message -> null);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(get(new PriceQuery("A"))).isEqualTo("A#1");
+    }
+
+    @Test
+    void resultComputedBeforeInvalidationIsNotStored() {
+        Object stale = behavior.handle(PriceQuery.class, new PriceQuery("A"), message -> {
+            // komenda kończy się, zanim zapytanie zapisze wynik
+            behavior.handle(ChangePriceCommand.class, new ChangePriceCommand(), m -> null);
+            return "stale";
+        });
+
+        assertThat(stale).isEqualTo("stale");
+        assertThat(get(new PriceQuery("A"))).isEqualTo("A#1");
+    }
+
+    private Object get(PriceQuery query) {
+        return behavior.handle(PriceQuery.class, query, handler);
+    }
+}
@@ -0,0 +1,30 @@
+package pl.mifi.cqrs.behaviors;
+
+import fixtures.messages.PriceQuery;
+import pl.mifi.benchmark.Benchmark;
+import pl.mifi.benchmark.Measure;
+import pl.mifi.cqrs.PipelineNext;
+
+/** Ścieżka trafienia w cache: klucz-rekord, synchronizowany LRU i sprawdzenie TTL. */
+class QueryCacheBenchmark {
+
+    private static final int OPERATIONS = 1_000_000;
+    private static final int KEYS = 8;
+
+    @Benchmark
+    void cacheHitPath() {
+        QueryCacheBehavior behavior = new QueryCacheBehavior();
+        PipelineNext handler = message -> ((PriceQuery) message).sku();
+        PriceQuery[] queries = new PriceQuery[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            queries[i] = new PriceQuery("SKU-" + i);
+            behavior.handle(PriceQuery.class, queries[i], handler);
+        }
+
+        int[] i = {0};
+        double hit = Measure.nanosPerOp(OPERATIONS,
+                () -> behavior.handle(PriceQuery.class, queries[i[0]++ & (KEYS - 1)], handler));
+        double direct = Measure.nanosPerOp(OPERATIONS, () -> handler.proceed(queries[i[0]++ & (KEYS - 1)]));
+        Measure.report("query cache", "hit %.0f ns/op, bare handler call %.0f ns/op", hit, direct);
+    }
+}
@@ -0,0 +1,124 @@
+package pl.mifi.cqrs.behaviors;
+
+import fixtures.messages.PriceQuery;
+import fixtures.messages.ReportQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pl.mifi.cqrs.PipelineNext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+class SingleFlightBehaviorTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlightBehavior behavior = new SingleFlightBehavior();
+    private final ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger executions = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void appliesOnlyToSingleFlightQueries() {
+        assertThat(behavior.appliesTo(ReportQuery.class)).isTrue();
+        assertThat(behavior.appliesTo(PriceQuery.class)).isFalse();
+    }
+
+    @Test
+    void concurrentEqualQueriesShareOneExecution() throws Exception {
+        PipelineNext handler = blockingHandler(() -> new StringBuilder("report#" + executions.incrementAndGet()));
+
+        List<Future<Object>> results = callConcurrently(new ReportQuery("2025-03"), handler);
+
+        Object first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(first).hasToString("report#1");
+        assertThat(executions).hasValue(1);
+        assertThat(behavior.snapshot()).containsExactly(new SingleFlightSnapshot("ReportQuery", 1, CALLERS - 1));
+    }
+
+    @Test
+    void failureReachesEveryWaiterAndIsNotRemembered() throws Exception {
+        IllegalStateException failure = new IllegalStateException("database down");
+        PipelineNext handler = blockingHandler(() -> {
+            executions.incrementAndGet();
+            throw failure;
+        });
+
+        List<Future<Object>> results = callConcurrently(new ReportQuery("2025-03"), handler);
+
+        for (Future<Object> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isSameAs(failure);
+        }
+        assertThat(executions).hasValue(1);
+
+        // następne wywołanie nie dostaje starego wyjątku, tylko wykonuje handler od nowa
+        Object retried = behavior.handle(ReportQuery.class, new ReportQuery("2025-03"), message -> "fresh");
+        assertThat(retried).isEqualTo("fresh");
+    }
+
+    /** Handler czeka na {@link #release}, żeby pozostali wywołujący zdążyli dołączyć do lidera. */
+    private PipelineNext blockingHandler(Supplier<Object> body) {
+        return message -> {
+            try {
+                if (!release.await(5, TimeUnit.SECONDS)) fail("handler was never released");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return body.get();
+        };
+    }
+
+    /** Wszyscy wywołujący startują naraz; handler jest zwalniany, gdy wszyscy poza liderem już czekają. */
+    private List<Future<Object>> callConcurrently(ReportQuery query, PipelineNext handler) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            // równy, ale nie ten sam obiekt – sklejanie idzie po equals
+            ReportQuery copy = new ReportQuery(query.month());
+            results.add(pool.submit(() -> {
+                start.await();
+                return behavior.handle(ReportQuery.class, copy, handler);
+            }));
+        }
+        start.countDown();
+        awaitWaiters(CALLERS - 1);
+        release.countDown();
+        return results;
+    }
+
+    private void awaitWaiters(long waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (coalesced() < waiters) {
+            if (System.nanoTime() > deadline) fail("only " + coalesced() + " of " + waiters + " callers joined");
+            Thread.sleep(1);
+        }
+    }
+
+    private long coalesced() {
+        return behavior.snapshot().stream().mapToLong(SingleFlightSnapshot::coalesced).sum();
+    }
+}
@@ -0,0 +1,142 @@
+package pl.mifi.cqrs.impl;
+
+import fixtures.messages.EchoQuery;
+import fixtures.messages.LengthQuery;
+import fixtures.messages.RecordCommand;
+import fixtures.unhandled.OrphanCommand;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.core.Ordered;
+import pl.mifi.cqrs.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HandlerRegistryTest {
+
+    @Test
+    void dispatchesEachMessageTypeToItsOwnHandler() {
+        RecordingCommandHandler commands = new RecordingCommandHandler();
+        HandlerRegistry registry = registry(List.of(commands), List.of(new EchoQueryHandler(), new LengthQueryHandler()));
+
+        assertThat(registry.pipeline(EchoQuery.class).proceed(new EchoQuery("abc"))).isEqualTo("abc");
+        assertThat(registry.pipeline(LengthQuery.class).proceed(new LengthQuery("abc"))).isEqualTo(3);
+        assertThat(registry.pipeline(RecordCommand.class).proceed(new RecordCommand("x"))).isNull();
+        assertThat(commands.handled).containsExactly("x");
+    }
+
+    @Test
+    void batchPipelineUsesHandleAllWhenHandlerSupportsIt() {
+        RecordingCommandHandler commands = new RecordingCommandHandler();
+        HandlerRegistry registry = registry(List.of(commands), List.of());
+
+        registry.batchPipeline(RecordCommand.class).proceed(List.of(new RecordCommand("a"), new RecordCommand("b")));
+
+        assertThat(commands.batches).containsExactly(List.of("a", "b"));
+        assertThat(commands.handled).isEmpty();
+    }
+
+    @Test
+    void behaviorsWrapHandlerInOrder() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        List<String> calls = new ArrayList<>();
+        beanFactory.registerSingleton("outer", new TracingBehavior("outer", 1, calls));
+        beanFactory.registerSingleton("inner", new TracingBehavior("inner", 2, calls));
+        HandlerRegistry registry = new HandlerRegistry(List.of(), List.of(new EchoQueryHandler()),
+                beanFactory.getBeanProvider(PipelineBehavior.class), beanFactory);
+
+        registry.pipeline(EchoQuery.class).proceed(new EchoQuery("abc"));
+
+        assertThat(calls).containsExactly("outer", "inner");
+    }
+
+    @Test
+    void duplicateHandlersFailAtStartup() {
+        assertThatThrownBy(() -> registry(List.of(), List.of(new EchoQueryHandler(), new OtherEchoQueryHandler())))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Duplicate handlers for EchoQuery");
+    }
+
+    @Test
+    void messageWithoutHandlerInApplicationPackagesFailsAtStartup() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AutoConfigurationPackages.register(beanFactory, OrphanCommand.class.getPackageName());
+
+        assertThatThrownBy(() -> new HandlerRegistry(List.of(), List.of(),
+                beanFactory.getBeanProvider(PipelineBehavior.class), beanFactory))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(OrphanCommand.class.getName());
+    }
+
+    @Test
+    void unknownMessageTypeIsRejectedOnDispatch() {
+        HandlerRegistry registry = registry(List.of(), List.of(new EchoQueryHandler()));
+
+        assertThatThrownBy(() -> registry.pipeline(LengthQuery.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("LengthQuery");
+    }
+
+    static HandlerRegistry registry(List<CommandHandler<?>> commandHandlers, List<QueryHandler<?, ?>> queryHandlers) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        return new HandlerRegistry(commandHandlers, queryHandlers,
+                beanFactory.getBeanProvider(PipelineBehavior.class), beanFactory);
+    }
+
+    // ---- handlery testowe (wiadomości w fixtures.messages, poza skanem aplikacji) ----
+
+    static class EchoQueryHandler implements QueryHandler<EchoQuery, String> {
+        @Override
+        public String handle(EchoQuery query) {
+            return query.text();
+        }
+    }
+
+    static class OtherEchoQueryHandler implements QueryHandler<EchoQuery, String> {
+        @Override
+        public String handle(EchoQuery query) {
+            return query.text().toUpperCase();
+        }
+    }
+
+    static class LengthQueryHandler implements QueryHandler<LengthQuery, Integer> {
+        @Override
+        public Integer handle(LengthQuery query) {
+            return query.text().length();
+        }
+    }
+
+    static class RecordingCommandHandler implements BatchCommandHandler<RecordCommand> {
+        final List<String> handled = new ArrayList<>();
+        final List<List<String>> batches = new ArrayList<>();
+
+        @Override
+        public void handle(RecordCommand command) {
+            handled.add(command.value());
+        }
+
+        @Override
+        public void handleAll(List<RecordCommand> commands) {
+            batches.add(commands.stream().map(RecordCommand::value).toList());
+        }
+    }
+
+    record TracingBehavior(String name, int order, List<String> calls)
+            implements PipelineBehavior, Ordered {
+
+        @Override
+        public Object handle(Class<?> messageType, Object message, PipelineNext next) {
+            calls.add(name);
+            return next.proceed(message);
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package pl.mifi.cqrs.impl;
+
+import fixtures.messages.EchoQuery;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.context.support.GenericApplicationContext;
+import pl.mifi.benchmark.Benchmark;
+import pl.mifi.benchmark.Measure;
+import pl.mifi.cqrs.Query;
+import pl.mifi.cqrs.QueryHandler;
+import pl.mifi.cqrs.impl.HandlerRegistryTest.EchoQueryHandler;
+import pl.mifi.cqrs.impl.HandlerRegistryTest.LengthQueryHandler;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Koszt samego dispatchu: dawne wyszukiwanie handlera przy każdym wywołaniu
+ * ({@code getBeansOfType} + refleksja po interfejsach) kontra łańcuch z rejestru zbudowanego przy starcie.
+ */
+class MediatorDispatchBenchmark {
+
+    private static final int OPERATIONS = 200_000;
+    private static final int OTHER_HANDLERS = 30; // mniej więcej tyle handlerów ma aplikacja
+
+    @Benchmark
+    void registryVersusPerCallLookup() {
+        try (GenericApplicationContext context = new GenericApplicationContext()) {
+            for (int i = 0; i < OTHER_HANDLERS; i++) {
+                context.registerBean("other" + i, LengthQueryHandler.class);
+            }
+            context.registerBean("echo", EchoQueryHandler.class);
+            context.refresh();
+
+            HandlerRegistry registry = HandlerRegistryTest.registry(List.of(),
+                    List.of(context.getBean("echo", EchoQueryHandler.class)));
+            EchoQuery query = new EchoQuery("abc");
+            String viaLookup = legacyGet(context, query);
+            assertThat(viaLookup).isEqualTo(registry.pipeline(EchoQuery.class).proceed(query));
+
+            double legacy = Measure.nanosPerOp(OPERATIONS / 10, () -> legacyGet(context, query));
+            double current = Measure.nanosPerOp(OPERATIONS, () -> registry.pipeline(EchoQuery.class).proceed(query));
+            Measure.report("dispatch", "per-call lookup %.0f ns/op, startup registry %.0f ns/op (%.0fx)",
+                    legacy, current, legacy / current);
+        }
+    }
+
+    /** Wyszukiwanie z dawnego {@code MediatorImpl.get}, bez zmian. */
+    @SuppressWarnings("unchecked")
+    private static <R, Q extends Query> R legacyGet(GenericApplicationContext applicationContext, Q query) {
+        QueryHandler<Q, R> handler = (QueryHandler<Q, R>) applicationContext.getBeansOfType(QueryHandler.class)
+                .values().stream()
+                .filter(h -> {
+                    Class<?> targetClass = AopProxyUtils.ultimateTargetClass(h);
+                    for (Type genericInterface : targetClass.getGenericInterfaces()) {
+                        if (genericInterface instanceof ParameterizedType parameterizedType) {
+                            Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+                            if (actualTypeArguments.length > 0 && actualTypeArguments[0].equals(query.getClass())) {
+                                return true;
+                            }
+                        }
+                    }
+                    return false;
+                })
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("No handler found for query: " + query.getClass().getSimpleName()));
+        return handler.handle(query);
+    }
+}
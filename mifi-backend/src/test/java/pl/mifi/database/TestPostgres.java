@@ -0,0 +1,44 @@
+package pl.mifi.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/** Wbudowany Postgres uruchamiany raz na JVM i zatrzymywany razem z nią; połączenia z puli jak w aplikacji. */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestPostgres {
+
+    private static EmbeddedPostgres postgres;
+
+    @Bean(destroyMethod = "close")
+    DataSource dataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        // getJdbcUrl ma już "?user=..."
+        dataSource.setJdbcUrl(start().getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        return dataSource;
+    }
+
+    static synchronized EmbeddedPostgres start() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot start embedded Postgres", e);
+            }
+            EmbeddedPostgres started = postgres;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException ignored) {
+                    // proces i tak się kończy
+                }
+            }));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,21 @@
+package pl.mifi.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import pl.mifi.MifiApplication;
+
+/**
+ * Aplikacja z dołożonym {@link LoadTestRunner} – poza jarem produkcyjnym. Uruchomienie (baza z profilu dev):
+ * <pre>
+ * mvn spring-boot:test-run -Dspring-boot.run.main-class=pl.mifi.loadtest.LoadTestApplication \
+ *     -Dspring-boot.run.profiles=dev -Dspring-boot.run.arguments=--mifi.loadtest.rows=1000000
+ * </pre>
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) {
+        SpringApplication.from(MifiApplication::main).with(LoadTestRunner.class).run(args);
+    }
+}
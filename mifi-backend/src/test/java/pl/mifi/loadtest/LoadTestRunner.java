@@ -0,0 +1,179 @@
+package pl.mifi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import pl.mifi.account.domain.Bank;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Powtarzalny test obciążeniowy całej aplikacji na lokalnej bazie (HTTP, profil {@code dev}): generuje
+ * wyciąg, wysyła go do POST /transactions/import i mierzy wiersze/s oraz szczyt sterty, a potem odpytuje
+ * GET /transactions równolegle – bez filtrów i z filtrami (miesiąc, kategoria, bank, typ + kwoty) –
+ * i podaje p50/p99/max. Raport idzie na stdout.
+ *
+ * Tylko w drzewie testów – do aplikacji dokłada go {@link LoadTestApplication}.
+ */
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final List<String> FILTER_CATEGORIES =
+            List.of("GROCERIES", "FAST_FOOD", "RESTAURANT", "PHARMACY", "FUEL", "UNKNOWN");
+
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext context;
+    private final Bank bank;
+    private final int rows;
+    private final long seed;
+    private final int requests;
+    private final int concurrency;
+    private final boolean exit;
+
+    public LoadTestRunner(Environment environment,
+                          ObjectMapper objectMapper,
+                          ConfigurableApplicationContext context,
+                          @Value("${mifi.loadtest.bank:MBANK}") Bank bank,
+                          @Value("${mifi.loadtest.rows:200000}") int rows,
+                          @Value("${mifi.loadtest.seed:42}") long seed,
+                          @Value("${mifi.loadtest.requests:200}") int requests,
+                          @Value("${mifi.loadtest.concurrency:16}") int concurrency,
+                          @Value("${mifi.loadtest.exit:true}") boolean exit) {
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.context = context;
+        this.bank = bank;
+        this.rows = rows;
+        this.seed = seed;
+        this.requests = requests;
+        this.concurrency = concurrency;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String baseUrl = "http://localhost:" + environment.getProperty("local.server.port", "8080");
+        HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+        Path dir = Files.createTempDirectory("mifi-loadtest");
+        Path file = SyntheticStatementGenerator.write(bank, dir, rows, seed);
+        System.out.printf("[loadtest] %s: %,d rows, %,d bytes%n", file.getFileName(), rows, Files.size(file));
+
+        // ---- import ----
+        resetPeakHeap();
+        long started = System.nanoTime();
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder()
+                        .uri(URI.create(baseUrl + "/transactions/import?fileName="
+                                + URLEncoder.encode(file.getFileName().toString(), StandardCharsets.UTF_8)))
+                        .header("Content-Type", "text/csv")
+                        .POST(HttpRequest.BodyPublishers.ofFile(file))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        double seconds = (System.nanoTime() - started) / 1e9;
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Import failed: HTTP " + response.statusCode() + " " + response.body());
+        }
+        JsonNode summary = objectMapper.readTree(response.body());
+        System.out.printf("[loadtest] import: %.1f s, %,.0f rows/s, imported=%d duplicates=%d failed=%d, heap peak %,d MB%n",
+                seconds, rows / seconds, summary.path("imported").asInt(), summary.path("duplicates").asInt(),
+                summary.path("failed").asInt(), peakHeap() >> 20);
+
+        // ---- odczyt ----
+        measure(http, baseUrl, "GET /transactions", i -> "");
+
+        // każde zapytanie z filtrem ma inny klucz (minAmount poza zakresem danych), żeby ominąć cache zapytań
+        LocalDate first = SyntheticStatementGenerator.firstDate(rows);
+        long months = Math.max(1, ChronoUnit.MONTHS.between(first, SyntheticStatementGenerator.LAST_DATE));
+        IntFunction<String> month = i -> {
+            LocalDate from = first.plusMonths(i % months).withDayOfMonth(1);
+            return "from=" + from + "&to=" + from.plusMonths(1).minusDays(1) + "&minAmount=" + (-1_000_000 - i);
+        };
+        measure(http, baseUrl, "filter: month", month);
+        measure(http, baseUrl, "filter: category + month",
+                i -> month.apply(i) + "&category=" + FILTER_CATEGORIES.get(i % FILTER_CATEGORIES.size()));
+        measure(http, baseUrl, "filter: bank", i -> "bank=" + bank + "&minAmount=" + (-1_000_000 - i));
+        measure(http, baseUrl, "filter: type + amount",
+                i -> "type=EXPENSE&minAmount=" + (-500 - i) + "&maxAmount=-20");
+
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+        if (exit) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void measure(HttpClient http, String baseUrl, String label, IntFunction<String> params) throws Exception {
+        resetPeakHeap();
+        long[] latencies = getTransactions(http, baseUrl, params);
+        Arrays.sort(latencies);
+        System.out.printf("[loadtest] %s x%d (%d parallel): p50 %.1f ms, p99 %.1f ms, max %.1f ms, heap peak %,d MB%n",
+                label, requests, concurrency, percentile(latencies, 50) / 1e6, percentile(latencies, 99) / 1e6,
+                latencies[latencies.length - 1] / 1e6, peakHeap() >> 20);
+    }
+
+    private long[] getTransactions(HttpClient http, String baseUrl, IntFunction<String> params) throws Exception {
+        try (ExecutorService pool = Executors.newFixedThreadPool(concurrency)) {
+            List<Future<Long>> calls = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/transactions?" + params.apply(i)))
+                        .GET().build();
+                calls.add(pool.submit(() -> {
+                    long t = System.nanoTime();
+                    HttpResponse<Void> r = http.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (r.statusCode() != 200) throw new IOException("GET /transactions: HTTP " + r.statusCode());
+                    return System.nanoTime() - t;
+                }));
+            }
+            long[] latencies = new long[requests];
+            for (int i = 0; i < requests; i++) {
+                latencies[i] = calls.get(i).get();
+            }
+            return latencies;
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(sorted.length * p / 100.0);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    // szczyt sterty liczony przez JVM per pula pamięci, bez próbkowania
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,157 @@
+package pl.mifi.loadtest;
+
+import pl.mifi.account.domain.Bank;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generator wyciągów w formatach mBank i PKO SA (windows-1250, wstęp przed nagłówkiem, NBSP w kwotach,
+ * apostrofy wokół rachunków) – do pomiarów importu i /transactions na milionach wierszy.
+ * Wiersze pisane są strumieniowo, a ten sam seed daje ten sam plik.
+ */
+public final class SyntheticStatementGenerator {
+
+    private static final Charset WINDOWS_1250 = Charset.forName("windows-1250");
+    static final LocalDate LAST_DATE = LocalDate.of(2025, 12, 31);
+
+    private static final DateTimeFormatter DOTS = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter SHORT = DateTimeFormatter.ofPattern("yyMMdd");
+    private static final char NBSP = '\u00A0';
+
+    /** Sprzedawcy rozpoznawani przez TitleCategoryClassifier, plus trochę nieznanych. */
+    private static final List<String> MERCHANTS = List.of(
+            "ŻABKA Z1234 K.1", "BIEDRONKA 3021", "LIDL SP Z O O", "CARREFOUR EXPRESS", "KAUFLAND PL 6520",
+            "AUCHAN POLSKA", "DINO POLSKA", "NETTO 112", "STOKROTKA 88", "MCDONALDS 123", "KFC POZNAN",
+            "BURGER KING 44", "PIZZERIA NAPOLI", "SUSHI MASTER", "RESTAURACJA POD LIPAMI", "STARBUCKS 12",
+            "KAWIARNIA MIEJSKA", "CUKIERNIA SOWA", "LODY TRADYCYJNE", "APTEKA DOZ", "SUPER PHARM",
+            "ROSSMANN 301", "HEBE 12", "SEPHORA", "ORLEN STACJA NR 100", "SHELL 1234", "BP STACJA",
+            "MOYA STACJA", "PARKING CENTRUM", "SPP STREFA", "BOLT.EU", "UBER *TRIP", "JAKDOJADE BILET",
+            "CINEMA CITY", "KINO MUZA", "SPOTIFY P12345", "NETFLIX.COM", "YOUTUBE PREMIUM", "IKEA RETAIL",
+            "PEPCO 1021", "ACTION 55", "TK MAXX", "SINSAY", "ZDROFIT", "TERMY MALTANSKIE",
+            "KWIACIARNIA ROZA", "ALLEGRO.PL", "PYSZNE.PL", "SKLEP WIELOBRANZOWY", "USLUGI REMONTOWE");
+
+    private static final List<String> COUNTERPARTIES = List.of(
+            "ACME SP Z O O", "JAN KOWALSKI", "ANNA NOWAK", "URZAD SKARBOWY", "SPOLDZIELNIA MIESZKANIOWA");
+
+    private SyntheticStatementGenerator() {
+    }
+
+    /** mBank, np. 82004086_250101_251231.csv; zwraca ścieżkę utworzonego pliku. */
+    public static Path writeMBank(Path dir, int rows, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate end = LAST_DATE;
+        LocalDate start = firstDate(rows);
+        Path file = dir.resolve("82004086_" + start.format(SHORT) + "_" + end.format(SHORT) + ".csv");
+
+        try (BufferedWriter w = writer(file)) {
+            w.write("mBank S.A. Bankowość Detaliczna;\r\n#Klient;\r\nJAN KOWALSKI;\r\n\r\n");
+            w.write("#Za okres:;\r\n" + start.format(DOTS) + ";" + end.format(DOTS) + ";\r\n\r\n");
+            w.write("#Data operacji;#Data księgowania;#Opis operacji;#Tytuł;#Nadawca/Odbiorca;#Numer konta;#Kwota;#Saldo po operacji;\r\n");
+
+            long balance = 1_000_000;
+            for (int i = 0; i < rows; i++) {
+                LocalDate date = dateAt(end, start, i, rows);
+                String dateText = random.nextInt(4) == 0 ? date.toString() : date.format(DOTS);
+                long amount;
+                if (random.nextInt(12) == 0) {
+                    amount = 100_000 + random.nextLong(900_000);
+                    String from = pick(random, COUNTERPARTIES);
+                    w.write(dateText + ";" + dateText + ";PRZELEW PRZYCHODZĄCY;PRZELEW ŚRODKÓW;" + from + ";'"
+                            + account(random) + "';" + money(amount) + ";" + money(balance + amount) + ";\r\n");
+                } else {
+                    amount = -(100 + random.nextLong(60_000));
+                    w.write(dateText + ";" + dateText + ";ZAKUP PRZY UŻYCIU KARTY;" + pick(random, MERCHANTS)
+                            + " POZNAN DATA TRANSAKCJI: " + date.minusDays(random.nextInt(3)) + ";;;"
+                            + money(amount) + ";" + money(balance + amount) + ";\r\n");
+                }
+                balance += amount;
+            }
+            w.write("\r\n;;;;;;#Saldo końcowe;" + money(balance) + " PLN;\r\n");
+        }
+        return file;
+    }
+
+    /** PKO SA, np. Lista_operacji_20251231_120000.csv; zwraca ścieżkę utworzonego pliku. */
+    public static Path writePkoSa(Path dir, int rows, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate end = LAST_DATE;
+        LocalDate start = firstDate(rows);
+        Path file = dir.resolve("Lista_operacji_" + end.toString().replace("-", "") + "_120000.csv");
+
+        try (BufferedWriter w = writer(file)) {
+            w.write("Data operacji;Data księgowania;Data waluty;Typ operacji;Kwota operacji;Waluta;"
+                    + "Nadawca / Odbiorca;Tytułem;Numer referencyjny;Rachunek źródłowy;Rachunek docelowy;;\r\n");
+            for (int i = 0; i < rows; i++) {
+                String date = dateAt(end, start, i, rows).format(DOTS);
+                String ref = "'" + Long.toString(random.nextLong(1L << 40), 36).toUpperCase() + "'";
+                if (random.nextInt(12) == 0) {
+                    long amount = 100_000 + random.nextLong(900_000);
+                    w.write(date + ";" + date + ";" + date + ";Przelew przychodzący;" + money(amount) + ";PLN;"
+                            + pick(random, COUNTERPARTIES) + ";Przelew środków;" + ref + ";'';'" + account(random) + "';\r\n");
+                } else {
+                    long amount = -(100 + random.nextLong(60_000));
+                    w.write(date + ";" + date + ";" + date + ";Płatność kartą;" + money(amount) + ";PLN;"
+                            + pick(random, MERCHANTS) + ";Zakup;" + ref + ";'" + account(random) + "';'';\r\n");
+                }
+            }
+        }
+        return file;
+    }
+
+    public static Path write(Bank bank, Path dir, int rows, long seed) throws IOException {
+        return switch (bank) {
+            case MBANK -> writeMBank(dir, rows, seed);
+            case PKO_SA -> writePkoSa(dir, rows, seed);
+            default -> throw new IllegalArgumentException("No generator for " + bank);
+        };
+    }
+
+    // ---- helpers ----
+
+    private static BufferedWriter writer(Path file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), WINDOWS_1250), 1 << 16);
+    }
+
+    /** Pierwszy dzień wyciągu o {@code rows} wierszach – około 40 operacji dziennie, ale nie dalej niż 10 lat wstecz. */
+    static LocalDate firstDate(int rows) {
+        return LAST_DATE.minusDays(Math.clamp(rows / 40, 1, 3650));
+    }
+
+    /** Daty malejąco, jak w eksporcie. */
+    private static LocalDate dateAt(LocalDate end, LocalDate start, int i, int rows) {
+        long days = end.toEpochDay() - start.toEpochDay();
+        return end.minusDays(days * i / Math.max(1, rows));
+    }
+
+    /** Grosze -> "-1 234,56" z NBSP jako separatorem tysięcy. */
+    static String money(long grosze) {
+        StringBuilder sb = new StringBuilder();
+        long abs = Math.abs(grosze);
+        String whole = Long.toString(abs / 100);
+        for (int i = 0; i < whole.length(); i++) {
+            if (i > 0 && (whole.length() - i) % 3 == 0) sb.append(NBSP);
+            sb.append(whole.charAt(i));
+        }
+        long cents = abs % 100;
+        sb.append(',').append(cents < 10 ? "0" : "").append(cents);
+        return grosze < 0 ? "-" + sb : sb.toString();
+    }
+
+    private static String account(SplittableRandom random) {
+        return String.format("%02d 1140 2004 0000 %04d %04d %04d",
+                random.nextInt(100), random.nextInt(10_000), random.nextInt(10_000), random.nextInt(10_000));
+    }
+
+    private static String pick(SplittableRandom random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,47 @@
+const TRANSACTIONS_URL = 'http://localhost:8080/transactions';
+const PAGE_SIZE = 1000;
+
+const FILTER_PARAMS = ['from', 'to', 'category', 'bank', 'type', 'minAmount', 'maxAmount'];
+
+// GET /transactions returns pages { items, next }; pass `next` back as `cursor` for the following page.
+// Filters (from/to as YYYY-MM-DD, category, bank, type, minAmount/maxAmount) are applied by the server
+export const fetchTransactionPage = async ({ cursor, limit = PAGE_SIZE, filters = {} } = {}) => {
+    const params = new URLSearchParams({ limit: String(limit) });
+    FILTER_PARAMS.forEach(name => {
+        const value = filters[name];
+        if (value !== undefined && value !== null && value !== '') params.set(name, String(value));
+    });
+    if (cursor) params.set('cursor', cursor);
+
+    const response = await fetch(`${TRANSACTIONS_URL}?${params}`);
+    if (!response.ok) {
+        console.error('API Error:', {
+            status: response.status,
+            statusText: response.statusText,
+            url: response.url
+        });
+        throw new Error(`Failed to fetch transactions: ${response.status} ${response.statusText}`);
+    }
+    return response.json();
+};
+
+// Follows the cursor until the last page
+export const fetchAllTransactions = async (filters = {}) => {
+    const transactions = [];
+    let cursor = null;
+    do {
+        const page = await fetchTransactionPage({ cursor, filters });
+        transactions.push(...page.items);
+        cursor = page.next;
+    } while (cursor);
+    return transactions;
+};
+
+// First and last day of a YYYY-MM month, as the from/to filters of GET /transactions
+export const monthRange = (monthKey) => {
+    const [year, month] = monthKey.split('-').map(Number);
+    const lastDay = new Date(year, month, 0).getDate();
+    return { from: `${monthKey}-01`, to: `${monthKey}-${String(lastDay).padStart(2, '0')}` };
+};
+
+export const yearRange = (year) => ({ from: `${year}-01-01`, to: `${year}-12-31` });
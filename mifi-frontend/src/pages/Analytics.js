@@ -1,5 +1,6 @@
 import { useState, useMemo } from 'react';
 import { useQuery } from '@tanstack/react-query';
+import { fetchAllTransactions, monthRange } from '../api/transactions';
 import { LineChart, BarChart, PieChart } from '@mui/x-charts';
 import { CalendarIcon, ArrowTrendingUpIcon, ChartPieIcon, ChartBarIcon, ChevronLeftIcon, ChevronRightIcon, ChevronDownIcon, ChevronUpIcon } from '@heroicons/react/24/outline';
 
@@ -42,27 +43,26 @@ export const Analytics = () => {
         return colors[category] || colors['Other'];
     };
     
-    // Fetch transactions from backend
-    const { data: allTransactions, isLoading, error } = useQuery({
-        queryKey: ['transactions'],
-        queryFn: async () => {
-            try {
-                const response = await fetch('http://localhost:8080/transactions');
-                if (!response.ok) {
-                    throw new Error(`Failed to fetch transactions: ${response.status} ${response.statusText}`);
-                }
-                const data = await response.json();
-                return data;
-            } catch (err) {
-                console.error('Error fetching transactions:', err);
-                throw err;
-            }
-        }
+    // Fetch only the displayed month or period for the charts - the server filters by date
+    const range = viewMode === 'month' ? monthRange(selectedMonth) : lastMonthsRange(selectedPeriod === '6months' ? 6 : 12);
+    const { data: allTransactions, isLoading: isRangeLoading, error: rangeError } = useQuery({
+        queryKey: ['transactions', range.from, range.to],
+        queryFn: () => fetchTransactions(range)
     });
 
+    // Averages look back to AVERAGES_FROM, so that is the oldest data this page needs
+    const historyRange = { from: AVERAGES_FROM, to: lastMonthsRange(1).to };
+    const { data: historyTransactions, isLoading: isHistoryLoading, error: historyError } = useQuery({
+        queryKey: ['transactions', historyRange.from, historyRange.to],
+        queryFn: () => fetchTransactions(historyRange)
+    });
+
+    const isLoading = isRangeLoading || isHistoryLoading;
+    const error = rangeError || historyError;
+
     // Transform data for charts
     const chartData = useMemo(() => {
-        if (!allTransactions) return null;
+        if (!allTransactions || !historyTransactions) return null;
 
         if (viewMode === 'month') {
             // Single month view - show daily breakdown
@@ -181,7 +181,7 @@ export const Analytics = () => {
 
             // First, calculate global active months (months with at least 10 transactions total)
             const globalMonthlyTotals = {};
-            allTransactions.filter(t => t.type?.toLowerCase() !== 'income').forEach(transaction => {
+            historyTransactions.filter(t => t.type?.toLowerCase() !== 'income').forEach(transaction => {
                 const transactionDate = new Date(transaction.date || transaction.createdAt || transaction.timestamp);
                 const monthKey = `${transactionDate.getFullYear()}-${String(transactionDate.getMonth() + 1).padStart(2, '0')}`;
                 
@@ -200,7 +200,7 @@ export const Analytics = () => {
                     const categoryTransactions = allDayTransactions.filter(t => (t.category || 'Other') === category);
                     
                     // Get all historical transactions for this category
-                    const allCategoryTransactions = allTransactions.filter(t => {
+                    const allCategoryTransactions = historyTransactions.filter(t => {
                         const tCategory = t.category || 'Other';
                         const tType = t.type?.toLowerCase();
                         return tCategory === category && tType !== 'income';
@@ -352,7 +352,7 @@ export const Analytics = () => {
 
             // First, calculate global active months (months with at least 10 transactions total)
             const globalMonthlyTotals = {};
-            allTransactions.filter(t => t.type?.toLowerCase() !== 'income').forEach(transaction => {
+            historyTransactions.filter(t => t.type?.toLowerCase() !== 'income').forEach(transaction => {
                 const transactionDate = new Date(transaction.date || transaction.createdAt || transaction.timestamp);
                 const monthKey = `${transactionDate.getFullYear()}-${String(transactionDate.getMonth() + 1).padStart(2, '0')}`;
                 
@@ -371,7 +371,7 @@ export const Analytics = () => {
                     const categoryTransactions = allPeriodTransactions.filter(t => (t.category || 'Other') === category);
                     
                     // Get all historical transactions for this category
-                    const allCategoryTransactions = allTransactions.filter(t => {
+                    const allCategoryTransactions = historyTransactions.filter(t => {
                         const tCategory = t.category || 'Other';
                         const tType = t.type?.toLowerCase();
                         return tCategory === category && tType !== 'income';
@@ -415,13 +415,13 @@ export const Analytics = () => {
                 }
             };
         }
-    }, [allTransactions, selectedPeriod, viewMode, selectedMonth]);
+    }, [allTransactions, historyTransactions, selectedPeriod, viewMode, selectedMonth]);
 
     // Calculate overall monthly averages since 01.01.2025
     const overallAverages = useMemo(() => {
-        if (!allTransactions) return { avgMonthlyIncome: 0, avgMonthlyExpenses: 0, monthsActive: 0 };
+        if (!historyTransactions) return { avgMonthlyIncome: 0, avgMonthlyExpenses: 0, monthsActive: 0 };
 
-        const startDate = new Date('2025-01-01');
+        const startDate = new Date(AVERAGES_FROM);
         const now = new Date();
         
         // Calculate number of months since start (including partial months)
@@ -435,7 +435,7 @@ export const Analytics = () => {
         }
         
         // Filter transactions since 2025-01-01
-        const transactionsSinceStart = allTransactions.filter(transaction => {
+        const transactionsSinceStart = historyTransactions.filter(transaction => {
             const transactionDate = new Date(transaction.date || transaction.createdAt || transaction.timestamp);
             return transactionDate >= startDate;
         });
@@ -456,7 +456,7 @@ export const Analytics = () => {
             totalIncome,
             totalExpenses
         };
-    }, [allTransactions]);
+    }, [historyTransactions]);
 
     const formatCurrency = (amount) => {
         return new Intl.NumberFormat('pl-PL', {
@@ -1031,3 +1031,24 @@ export const Analytics = () => {
         </div>
     );
 };
+
+// Monthly averages and per-category history are counted from this day
+const AVERAGES_FROM = '2025-01-01';
+
+const fetchTransactions = async (range) => {
+    try {
+        return await fetchAllTransactions(range);
+    } catch (err) {
+        console.error('Error fetching transactions:', err);
+        throw err;
+    }
+};
+
+// From the first day of the month N-1 months ago to the last day of the current month
+const lastMonthsRange = (months) => {
+    const now = new Date();
+    const first = new Date(now.getFullYear(), now.getMonth() - months + 1, 1);
+    const firstKey = `${first.getFullYear()}-${String(first.getMonth() + 1).padStart(2, '0')}`;
+    const currentKey = `${now.getFullYear()}-${String(now.getMonth() + 1).padStart(2, '0')}`;
+    return { from: monthRange(firstKey).from, to: monthRange(currentKey).to };
+};
@@ -131,59 +131,43 @@ export const Budget = () => {
     const [isLoadingDefault, setIsLoadingDefault] = useState(false);
     const [isUpdatingDefault, setIsUpdatingDefault] = useState(false);
     
-    // Ładowanie danych z API per miesiąc
+    // Ładowanie budżetu miesiąca i kategorii jednym żądaniem (backend pobiera je równolegle)
     useEffect(() => {
-        const loadMonthlyData = async () => {
+        const loadMonthlyOverview = async () => {
             try {
                 // Format selectedMonth to YYYY-MM for API call
-                const response = await fetch(`http://localhost:8080/budget/monthly/${selectedMonth}`);
+                const response = await fetch(`http://localhost:8080/budget/monthly/${selectedMonth}/overview`);
                 
                 if (response.ok) {
-                    const budgetData = await response.json();
-                    // Convert backend data to frontend format
-                    convertBackendDataToFrontend(budgetData);
-                    setHasBudgetInDB(true);
-                } else if (response.status === 404) {
-                    // No budget found for this month, show empty view
-                    setEmptyView();
-                    setHasBudgetInDB(false);
+                    const { budget, categories } = await response.json();
+                    setAvailableCategories(categories);
+                    if (budget) {
+                        // Convert backend data to frontend format
+                        convertBackendDataToFrontend(budget);
+                        setHasBudgetInDB(true);
+                    } else {
+                        // No budget found for this month, show empty view
+                        setEmptyView();
+                        setHasBudgetInDB(false);
+                    }
                 } else {
-                    console.error('Error loading budget data:', response.statusText);
+                    console.error('Error loading budget overview:', response.statusText);
                     setEmptyView();
                     setHasBudgetInDB(false);
-                }
-            } catch (error) {
-                console.error('Error fetching budget data:', error);
-                setEmptyView();
-                setHasBudgetInDB(false);
-            }
-        };
-        
-        loadMonthlyData();
-    }, [selectedMonth]); // Przeładuj dane gdy zmieni się miesiąc
-    
-    // Ładowanie kategorii z API
-    useEffect(() => {
-        const loadCategories = async () => {
-            try {
-                const response = await fetch('http://localhost:8080/budget/categories/all');
-                if (response.ok) {
-                    const categories = await response.json();
-                    setAvailableCategories(categories);
-                } else {
-                    console.error('Error loading categories:', response.statusText);
                     // Fallback to default categories if API fails
                     setAvailableCategories(DEFAULT_BUDGET_CATEGORIES);
                 }
             } catch (error) {
-                console.error('Error fetching categories:', error);
+                console.error('Error fetching budget overview:', error);
+                setEmptyView();
+                setHasBudgetInDB(false);
                 // Fallback to default categories if API fails
                 setAvailableCategories(DEFAULT_BUDGET_CATEGORIES);
             }
         };
         
-        loadCategories();
-    }, []); // Load once on component mount
+        loadMonthlyOverview();
+    }, [selectedMonth]); // Przeładuj dane gdy zmieni się miesiąc
     
     // Helper function to convert backend data to frontend format
     const convertBackendDataToFrontend = (budgetData) => {
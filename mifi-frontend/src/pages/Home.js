@@ -1,5 +1,6 @@
 import { useState, useMemo } from 'react';
 import { useQuery } from '@tanstack/react-query';
+import { fetchAllTransactions, monthRange, yearRange } from '../api/transactions';
 import { ChevronLeftIcon, ChevronRightIcon, CalendarIcon, ArrowRightIcon } from '@heroicons/react/24/outline';
 import { Link } from 'react-router-dom';
 
@@ -14,30 +15,13 @@ export const Home = () => {
         return `${now.getFullYear()}-${String(now.getMonth() + 1).padStart(2, '0')}`;
     });
     
-    // Fetch transactions from backend
+    // Fetch only the displayed year or month - the server filters by date
+    const range = viewMode === 'year' ? yearRange(selectedYear) : monthRange(selectedMonth);
     const { data: allTransactions, isLoading, error } = useQuery({
-        queryKey: ['transactions'],
+        queryKey: ['transactions', range.from, range.to],
         queryFn: async () => {
             try {
-                const response = await fetch('http://localhost:8080/transactions');
-                if (!response.ok) {
-                    console.error('API Error:', {
-                        status: response.status,
-                        statusText: response.statusText,
-                        url: response.url
-                    });
-                    throw new Error(`Failed to fetch transactions: ${response.status} ${response.statusText}`);
-                }
-                const data = await response.json();
-                
-                // Log the response to understand the structure
-                console.log('Backend response:', data);
-                console.log('Number of transactions:', data.length);
-                if (data.length > 0) {
-                    console.log('Sample transaction structure:', data[0]);
-                }
-                
-                return data;
+                return await fetchAllTransactions(range);
             } catch (err) {
                 console.error('Error fetching transactions:', err);
                 throw err;
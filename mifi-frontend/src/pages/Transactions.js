@@ -1,5 +1,6 @@
 import { useState, useMemo } from 'react';
 import { useQuery } from '@tanstack/react-query';
+import { fetchAllTransactions, monthRange } from '../api/transactions';
 import { 
     ChevronLeftIcon, 
     ChevronRightIcon, 
@@ -21,35 +22,11 @@ export const Transactions = () => {
     const [sortBy, setSortBy] = useState('date'); // 'date', 'amount', 'title'
     const [sortOrder, setSortOrder] = useState('desc'); // 'asc', 'desc'
     
-    // Fetch transactions from backend
+    // Fetch only the selected month - the server filters by date, so switching months
+    // loads that month's rows instead of the whole history
     const { data: allTransactions, isLoading, error } = useQuery({
-        queryKey: ['transactions'],
-        queryFn: async () => {
-            try {
-                const response = await fetch('http://localhost:8080/transactions');
-                if (!response.ok) {
-                    console.error('API Error:', {
-                        status: response.status,
-                        statusText: response.statusText,
-                        url: response.url
-                    });
-                    throw new Error(`Failed to fetch transactions: ${response.status} ${response.statusText}`);
-                }
-                const data = await response.json();
-                
-                // Log the response to understand the structure
-                console.log('Backend response:', data);
-                console.log('Number of transactions:', data.length);
-                if (data.length > 0) {
-                    console.log('Sample transaction structure:', data[0]);
-                }
-                
-                return data;
-            } catch (err) {
-                console.error('Error fetching transactions:', err);
-                throw err;
-            }
-        }
+        queryKey: ['transactions', selectedMonth],
+        queryFn: () => fetchAllTransactions(monthRange(selectedMonth))
     });
 
     // Group transactions by month and transform data format
@@ -99,7 +76,6 @@ export const Transactions = () => {
     // Get transactions for selected month with filters
     const filteredTransactions = useMemo(() => {
         let transactions = transactionsByMonth[selectedMonth] || [];
-        console.log('Transactionsss', transactions)
         // Apply search filter
         if (searchTerm) {
             transactions = transactions.filter(transaction =>
@@ -473,4 +449,3 @@ export const Transactions = () => {
         </div>
     );
 };
-